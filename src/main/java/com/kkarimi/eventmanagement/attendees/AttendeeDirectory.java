@@ -1,14 +1,26 @@
 package com.kkarimi.eventmanagement.attendees;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 public interface AttendeeDirectory {
 
     Attendee register(NewAttendeeCommand command);
 
+    AttendeeImportResult importChunk(List<NewAttendeeCommand> commands);
+
     Optional<Attendee> findById(Long attendeeId);
 
+    List<Attendee> findAllById(Collection<Long> attendeeIds);
+
+    List<Attendee> search(String query, int limit);
+
     Page<Attendee> findAll(Pageable pageable);
+
+    Window<Attendee> findAll(ScrollPosition position, int size);
 }
@@ -0,0 +1,4 @@
+package com.kkarimi.eventmanagement.attendees;
+
+public record AttendeeImportRejection(int index, String reason) {
+}
@@ -0,0 +1,6 @@
+package com.kkarimi.eventmanagement.attendees;
+
+import java.util.List;
+
+public record AttendeeImportResult(int imported, List<AttendeeImportRejection> rejections) {
+}
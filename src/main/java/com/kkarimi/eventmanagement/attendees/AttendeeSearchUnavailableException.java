@@ -0,0 +1,8 @@
+package com.kkarimi.eventmanagement.attendees;
+
+public class AttendeeSearchUnavailableException extends RuntimeException {
+
+    public AttendeeSearchUnavailableException() {
+        super("Attendee search index is not available");
+    }
+}
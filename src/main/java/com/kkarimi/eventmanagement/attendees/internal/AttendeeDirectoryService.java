@@ -1,48 +1,194 @@
 package com.kkarimi.eventmanagement.attendees.internal;
 
+import com.kkarimi.eventmanagement.eventhistory.EventHistoryRecordedEvent;
 import com.kkarimi.eventmanagement.eventhistory.TrackEventHistory;
 import com.kkarimi.eventmanagement.attendees.Attendee;
 import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportRejection;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportResult;
+import com.kkarimi.eventmanagement.attendees.AttendeeSearchUnavailableException;
 import com.kkarimi.eventmanagement.attendees.DuplicateAttendeeException;
 import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import com.kkarimi.eventmanagement.config.MultiGetCache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 class AttendeeDirectoryService implements AttendeeDirectory {
 
+    static final String ATTENDEE_BY_ID_CACHE = "attendeeById";
+
+    private static final String FULL_NAME_KEY = "fullName";
+    private static final String ID_KEY = "id";
+
     private final AttendeeJpaRepository repository;
     private final AttendeeMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final AttendeeSearchIndex searchIndex;
 
     @Override
     @Transactional
-    @TrackEventHistory(module = "attendees", action = "register", entity = "attendee")
+    @TrackEventHistory(module = "attendees", action = "register", entity = "attendee", entityId = "#result?.id()")
     public Attendee register(NewAttendeeCommand command) {
-        if (repository.existsByEmailIgnoreCase(command.email())) {
+        if (repository.existsByEmailNormalized(AttendeeJpaEntity.normalizeEmail(command.email()))) {
             throw new DuplicateAttendeeException(command.email());
         }
         AttendeeJpaEntity entity = mapper.toEntity(command);
         try {
-            return mapper.toModel(repository.save(entity));
+            Attendee attendee = mapper.toModel(repository.save(entity));
+            searchIndex.addAfterCommit(List.of(attendee));
+            return attendee;
         } catch (DataIntegrityViolationException exception) {
             throw new DuplicateAttendeeException(command.email());
         }
     }
 
     @Override
+    @Transactional
+    public AttendeeImportResult importChunk(List<NewAttendeeCommand> commands) {
+        Set<String> emails = new HashSet<>();
+        commands.forEach(command -> emails.add(AttendeeJpaEntity.normalizeEmail(command.email())));
+        Set<String> claimedEmails = new HashSet<>(repository.findExistingEmails(emails));
+
+        List<AttendeeJpaEntity> entities = new ArrayList<>(commands.size());
+        List<AttendeeImportRejection> rejections = new ArrayList<>();
+        for (int index = 0; index < commands.size(); index++) {
+            NewAttendeeCommand command = commands.get(index);
+            if (claimedEmails.add(AttendeeJpaEntity.normalizeEmail(command.email()))) {
+                entities.add(mapper.toEntity(command));
+            } else {
+                rejections.add(new AttendeeImportRejection(
+                        index,
+                        new DuplicateAttendeeException(command.email()).getMessage()
+                ));
+            }
+        }
+        repository.saveAll(entities);
+        repository.flush();
+        searchIndex.addAfterCommit(entities.stream().map(mapper::toModel).toList());
+
+        eventPublisher.publishEvent(new EventHistoryRecordedEvent(
+                "attendees",
+                "import-chunk",
+                "attendee",
+                Instant.now(),
+                "{\"rows\":" + commands.size() + "}",
+                "{\"imported\":" + entities.size() + ",\"rejected\":" + rejections.size() + "}"
+        ));
+        return new AttendeeImportResult(entities.size(), rejections);
+    }
+
+    @Override
+    @Cacheable(cacheNames = ATTENDEE_BY_ID_CACHE, key = "#attendeeId", unless = "#result == null")
     public Optional<Attendee> findById(Long attendeeId) {
         return repository.findById(attendeeId).map(mapper::toModel);
     }
 
+    @Override
+    public List<Attendee> findAllById(Collection<Long> attendeeIds) {
+        Set<Long> requestedIds = new LinkedHashSet<>(attendeeIds);
+        Cache cache = cacheManager.getCache(ATTENDEE_BY_ID_CACHE);
+        Map<Long, Object> cached = cache == null ? Map.of() : cachedAttendees(cache, requestedIds);
+
+        List<Long> missingIds = requestedIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        Map<Long, Attendee> loaded = new HashMap<>();
+        if (!missingIds.isEmpty()) {
+            repository.findAllById(missingIds).forEach(entity -> {
+                Attendee attendee = mapper.toModel(entity);
+                loaded.put(attendee.id(), attendee);
+            });
+        }
+        if (cache != null && !loaded.isEmpty()) {
+            cacheAttendees(cache, loaded);
+        }
+
+        List<Attendee> attendees = new ArrayList<>(requestedIds.size());
+        for (Long attendeeId : requestedIds) {
+            Object attendee = cached.containsKey(attendeeId) ? cached.get(attendeeId) : loaded.get(attendeeId);
+            if (attendee != null) {
+                attendees.add((Attendee) attendee);
+            }
+        }
+        return attendees;
+    }
+
+    @Override
+    public List<Attendee> search(String query, int limit) {
+        if (!searchIndex.isReady()) {
+            throw new AttendeeSearchUnavailableException();
+        }
+        return searchIndex.search(query, limit);
+    }
+
     @Override
     public Page<Attendee> findAll(Pageable pageable) {
         return repository.findAll(pageable).map(mapper::toModel);
     }
+
+    @Override
+    public Window<Attendee> findAll(ScrollPosition position, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<AttendeeJpaEntity> rows;
+        if (position.isInitial()) {
+            rows = repository.findAllByOrderByFullNameAscIdAsc(limit);
+        } else {
+            Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+            rows = repository.findAllAfter((String) keys.get(FULL_NAME_KEY), (Long) keys.get(ID_KEY), limit);
+        }
+        List<Attendee> content = rows.stream().limit(size).map(mapper::toModel).toList();
+        return Window.from(content, index -> positionOf(content.get(index)), rows.size() > size);
+    }
+
+    private Map<Long, Object> cachedAttendees(Cache cache, Set<Long> attendeeIds) {
+        try {
+            return MultiGetCache.getAll(cache, attendeeIds);
+        } catch (RuntimeException exception) {
+            log.warn("Cache multi-get failed for cache='{}'; loading {} attendees from the database",
+                    cache.getName(), attendeeIds.size(), exception);
+            return Map.of();
+        }
+    }
+
+    private void cacheAttendees(Cache cache, Map<Long, Attendee> attendees) {
+        try {
+            MultiGetCache.putAll(cache, attendees);
+        } catch (RuntimeException exception) {
+            log.warn("Cache multi-put failed for cache='{}'", cache.getName(), exception);
+        }
+    }
+
+    private ScrollPosition positionOf(Attendee attendee) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(FULL_NAME_KEY, attendee.fullName());
+        keys.put(ID_KEY, attendee.id());
+        return ScrollPosition.forward(keys);
+    }
 }
@@ -6,6 +6,9 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -17,6 +20,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
+import java.util.Locale;
 
 @Entity
 @Table(name = "attendees")
@@ -28,15 +32,19 @@ import java.time.Instant;
 class AttendeeJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendees_seq")
+    @SequenceGenerator(name = "attendees_seq", sequenceName = "attendees_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String fullName;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    @Column(name = "email_normalized", nullable = false, unique = true)
+    private String emailNormalized;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
@@ -49,5 +57,16 @@ class AttendeeJpaEntity {
         this.id = id;
         this.fullName = fullName;
         this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncEmailNormalized() {
+        emailNormalized = normalizeEmail(email);
     }
 }
@@ -1,8 +1,47 @@
 package com.kkarimi.eventmanagement.attendees.internal;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 interface AttendeeJpaRepository extends JpaRepository<AttendeeJpaEntity, Long> {
 
-    boolean existsByEmailIgnoreCase(String email);
+    String SEARCH_INDEX_FETCH_SIZE = "1000";
+
+    boolean existsByEmailNormalized(String emailNormalized);
+
+    @Query("select a.emailNormalized from AttendeeJpaEntity a where a.emailNormalized in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    List<AttendeeJpaEntity> findAllByOrderByFullNameAscIdAsc(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = SEARCH_INDEX_FETCH_SIZE))
+    @Query("select a.id, a.fullName, a.email from AttendeeJpaEntity a")
+    Stream<Object[]> streamSearchEntries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = SEARCH_INDEX_FETCH_SIZE))
+    @Query("select a.id, a.fullName, a.email from AttendeeJpaEntity a where a.updatedAt >= :updatedFrom")
+    Stream<Object[]> streamSearchEntriesUpdatedSince(@Param("updatedFrom") Instant updatedFrom);
+
+    @Query("""
+            select a from AttendeeJpaEntity a
+             where a.fullName >= :fullName
+               and (a.fullName > :fullName or a.id > :id)
+             order by a.fullName asc, a.id asc
+            """)
+    List<AttendeeJpaEntity> findAllAfter(
+            @Param("fullName") String fullName,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
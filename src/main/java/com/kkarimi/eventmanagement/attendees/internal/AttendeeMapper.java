@@ -13,6 +13,7 @@ interface AttendeeMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "fullName", source = "command.fullName")
     @Mapping(target = "email", source = "command.email")
+    @Mapping(target = "emailNormalized", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     AttendeeJpaEntity toEntity(NewAttendeeCommand command);
@@ -0,0 +1,380 @@
+package com.kkarimi.eventmanagement.attendees.internal;
+
+import com.kkarimi.eventmanagement.attendees.Attendee;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+class AttendeeSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<ScoredAttendee> RANKING = Comparator
+            .comparingInt(ScoredAttendee::score).reversed()
+            .thenComparing(scored -> scored.attendee().fullName())
+            .thenComparing(scored -> scored.attendee().id());
+    private static final int NAME_PREFIX_SCORE = 3;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final int DOCUMENT_OVERHEAD_BYTES = 120;
+
+    private final AttendeeJpaRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int minPrefixLength;
+    private final int maxPrefixLength;
+    private final int maxCandidates;
+    private final Duration refreshOverlap;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Roaring64NavigableMap> postings = new HashMap<>();
+    private final Map<String, Roaring64NavigableMap> exactNames = new HashMap<>();
+    private final Map<Long, IndexedAttendee> documents = new HashMap<>();
+    private long termBytes;
+    private long documentBytes;
+    private volatile boolean ready;
+    private volatile Instant loadedUntil;
+
+    AttendeeSearchIndex(
+            AttendeeJpaRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.attendees.search.enabled:true}") boolean enabled,
+            @Value("${app.attendees.search.min-prefix-length:2}") int minPrefixLength,
+            @Value("${app.attendees.search.max-prefix-length:10}") int maxPrefixLength,
+            @Value("${app.attendees.search.max-candidates:1000}") int maxCandidates,
+            @Value("${app.attendees.search.refresh-overlap:5m}") Duration refreshOverlap
+    ) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.minPrefixLength = minPrefixLength;
+        this.maxPrefixLength = maxPrefixLength;
+        this.maxCandidates = maxCandidates;
+        this.refreshOverlap = refreshOverlap;
+
+        Gauge.builder("attendees.search.index.entries", this, AttendeeSearchIndex::entries)
+                .description("Attendees held in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("attendees.search.index.terms", this, AttendeeSearchIndex::terms)
+                .description("Distinct prefixes held in the in-memory search index")
+                .register(meterRegistry);
+        Gauge.builder("attendees.search.index.size", this, AttendeeSearchIndex::sizeInBytes)
+                .description("Estimated heap footprint of the in-memory search index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Instant loadingFrom = Instant.now();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = repository.streamSearchEntries()) {
+                rows.forEach(this::add);
+            }
+        });
+        loadedUntil = loadingFrom;
+        lock.writeLock().lock();
+        try {
+            postings.values().forEach(Roaring64NavigableMap::runOptimize);
+            exactNames.values().forEach(Roaring64NavigableMap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        log.info("Attendee search index built: {} attendees, {} prefixes, ~{} bytes, {} ms",
+                (long) entries(), (long) terms(), (long) sizeInBytes(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    @Async("cacheRefreshExecutor")
+    @Scheduled(
+            fixedDelayString = "${app.attendees.search.refresh-interval:30s}",
+            initialDelayString = "${app.attendees.search.refresh-interval:30s}"
+    )
+    public void refresh() {
+        if (!ready || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Instant loadingFrom = Instant.now();
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = repository.streamSearchEntriesUpdatedSince(loadedUntil.minus(refreshOverlap))) {
+                    rows.forEach(this::add);
+                }
+            });
+            loadedUntil = loadingFrom;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    int minPrefixLength() {
+        return minPrefixLength;
+    }
+
+    List<Attendee> search(String query, int limit) {
+        List<String> queryTokens = tokens(query);
+        List<String> lookupTokens = queryTokens.stream().filter(token -> token.length() >= minPrefixLength).toList();
+        if (lookupTokens.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "q must contain a term of at least " + minPrefixLength + " letters or digits"
+            );
+        }
+
+        lock.readLock().lock();
+        try {
+            Roaring64NavigableMap candidates = candidates(lookupTokens);
+            if (candidates == null) {
+                return List.of();
+            }
+            PriorityQueue<ScoredAttendee> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            // Exact name matches are ranked in full, so the candidate cap never hides them behind older prefix matches
+            Roaring64NavigableMap exact = exactNameMatches(candidates, queryTokens);
+            rank(exact.getLongIterator(), Integer.MAX_VALUE, queryTokens, best, limit);
+            // Prefix-only matches score at most NAME_PREFIX_SCORE per token and cannot displace a full page above that
+            if (best.size() < limit || best.peek().score() <= NAME_PREFIX_SCORE * queryTokens.size()) {
+                Roaring64NavigableMap rest = candidates;
+                if (!exact.isEmpty()) {
+                    rest = new Roaring64NavigableMap();
+                    rest.or(candidates);
+                    rest.andNot(exact);
+                }
+                rank(rest.getLongIterator(), maxCandidates, queryTokens, best, limit);
+            }
+            return best.stream().sorted(RANKING).map(ScoredAttendee::attendee).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rank(
+            LongIterator iterator,
+            int maxInspected,
+            List<String> queryTokens,
+            PriorityQueue<ScoredAttendee> best,
+            int limit
+    ) {
+        for (int inspected = 0; iterator.hasNext() && inspected < maxInspected; inspected++) {
+            IndexedAttendee document = documents.get(iterator.next());
+            int score = document == null ? -1 : document.score(queryTokens);
+            if (score >= 0) {
+                best.add(new ScoredAttendee(document.attendee(), score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+    }
+
+    private Roaring64NavigableMap exactNameMatches(Roaring64NavigableMap candidates, List<String> queryTokens) {
+        Roaring64NavigableMap exact = new Roaring64NavigableMap();
+        for (String token : queryTokens) {
+            Roaring64NavigableMap posting = exactNames.get(token);
+            if (posting != null) {
+                exact.or(posting);
+            }
+        }
+        exact.and(candidates);
+        return exact;
+    }
+
+    void addAfterCommit(Collection<Attendee> attendees) {
+        if (!enabled || attendees.isEmpty()) {
+            return;
+        }
+        List<Attendee> committed = List.copyOf(attendees);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.forEach(this::add);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(AttendeeSearchIndex.this::add);
+            }
+        });
+    }
+
+    private Roaring64NavigableMap candidates(List<String> lookupTokens) {
+        List<Roaring64NavigableMap> matches = new ArrayList<>(lookupTokens.size());
+        for (String token : lookupTokens) {
+            Roaring64NavigableMap posting = postings.get(prefixKey(token));
+            if (posting == null) {
+                return null;
+            }
+            matches.add(posting);
+        }
+        matches.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+        if (matches.size() == 1) {
+            return matches.getFirst();
+        }
+        Roaring64NavigableMap candidates = new Roaring64NavigableMap();
+        candidates.or(matches.getFirst());
+        for (int index = 1; index < matches.size() && !candidates.isEmpty(); index++) {
+            candidates.and(matches.get(index));
+        }
+        return candidates;
+    }
+
+    private void add(Object[] row) {
+        add(new Attendee((Long) row[0], (String) row[1], (String) row[2]));
+    }
+
+    private void add(Attendee attendee) {
+        String[] nameTokens = tokens(attendee.fullName()).toArray(String[]::new);
+        String[] emailTokens = tokens(attendee.email()).toArray(String[]::new);
+        Set<String> prefixes = new LinkedHashSet<>();
+        Stream.concat(Arrays.stream(nameTokens), Arrays.stream(emailTokens)).forEach(token -> {
+            for (int length = minPrefixLength; length <= Math.min(token.length(), maxPrefixLength); length++) {
+                prefixes.add(token.substring(0, length));
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            IndexedAttendee previous = documents.put(attendee.id(), new IndexedAttendee(attendee, nameTokens, emailTokens));
+            if (previous == null) {
+                documentBytes += DOCUMENT_OVERHEAD_BYTES
+                        + attendee.fullName().length() * 3L
+                        + attendee.email().length() * 3L;
+            }
+            for (String prefix : prefixes) {
+                postings.computeIfAbsent(prefix, ignored -> {
+                    termBytes += STRING_OVERHEAD_BYTES + prefix.length();
+                    return new Roaring64NavigableMap();
+                }).addLong(attendee.id());
+            }
+            for (String nameToken : nameTokens) {
+                exactNames.computeIfAbsent(nameToken, ignored -> {
+                    termBytes += STRING_OVERHEAD_BYTES + nameToken.length();
+                    return new Roaring64NavigableMap();
+                }).addLong(attendee.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String prefixKey(String token) {
+        return token.length() > maxPrefixLength ? token.substring(0, maxPrefixLength) : token;
+    }
+
+    private static List<String> tokens(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private double entries() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double terms() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = termBytes + documentBytes;
+            for (Roaring64NavigableMap posting : postings.values()) {
+                bytes += posting.getLongSizeInBytes();
+            }
+            for (Roaring64NavigableMap posting : exactNames.values()) {
+                bytes += posting.getLongSizeInBytes();
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private record IndexedAttendee(Attendee attendee, String[] nameTokens, String[] emailTokens) {
+
+        int score(List<String> queryTokens) {
+            int score = 0;
+            for (String queryToken : queryTokens) {
+                int tokenScore = Math.max(
+                        bestMatch(nameTokens, queryToken, 4, NAME_PREFIX_SCORE),
+                        bestMatch(emailTokens, queryToken, 2, 1)
+                );
+                if (tokenScore == 0) {
+                    return -1;
+                }
+                score += tokenScore;
+            }
+            return score;
+        }
+
+        private static int bestMatch(String[] tokens, String queryToken, int exact, int prefix) {
+            int best = 0;
+            for (String token : tokens) {
+                if (token.equals(queryToken)) {
+                    return exact;
+                }
+                if (token.startsWith(queryToken)) {
+                    best = prefix;
+                }
+            }
+            return best;
+        }
+    }
+
+    private record ScoredAttendee(Attendee attendee, int score) {
+    }
+}
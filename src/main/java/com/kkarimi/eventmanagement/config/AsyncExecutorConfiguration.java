@@ -0,0 +1,43 @@
+package com.kkarimi.eventmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AsyncExecutorProperties.class)
+class AsyncExecutorConfiguration {
+
+    @Bean
+    WorkloadExecutor historyExecutor(AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor("history", properties, meterRegistry);
+    }
+
+    @Bean
+    WorkloadExecutor historyReplayExecutor(AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor("history-replay", properties, meterRegistry);
+    }
+
+    @Bean
+    WorkloadExecutor notificationsExecutor(AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor("notifications", properties, meterRegistry);
+    }
+
+    @Bean
+    WorkloadExecutor cacheRefreshExecutor(AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        return executor("cache-refresh", properties, meterRegistry);
+    }
+
+    private static WorkloadExecutor executor(String name, AsyncExecutorProperties properties, MeterRegistry meterRegistry) {
+        AsyncExecutorProperties.Workload workload = properties.workload(name);
+        return new WorkloadExecutor(
+                name,
+                workload.mode(),
+                workload.concurrency(),
+                workload.queueCapacity(),
+                workload.rejectionPolicy(),
+                meterRegistry
+        );
+    }
+}
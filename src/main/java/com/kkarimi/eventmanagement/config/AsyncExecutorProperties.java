@@ -0,0 +1,33 @@
+package com.kkarimi.eventmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties("app.async")
+record AsyncExecutorProperties(Map<String, Workload> executors) {
+
+    private static final Workload DEFAULT_WORKLOAD = new Workload(
+            WorkloadExecutor.Mode.PLATFORM,
+            2,
+            100,
+            WorkloadExecutor.RejectionPolicy.CALLER_RUNS
+    );
+
+    AsyncExecutorProperties {
+        executors = executors == null ? Map.of() : Map.copyOf(executors);
+    }
+
+    Workload workload(String name) {
+        return executors.getOrDefault(name, DEFAULT_WORKLOAD);
+    }
+
+    record Workload(
+            @DefaultValue("PLATFORM") WorkloadExecutor.Mode mode,
+            @DefaultValue("2") int concurrency,
+            @DefaultValue("100") int queueCapacity,
+            @DefaultValue("CALLER_RUNS") WorkloadExecutor.RejectionPolicy rejectionPolicy
+    ) {
+    }
+}
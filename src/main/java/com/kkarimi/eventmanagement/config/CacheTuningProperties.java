@@ -0,0 +1,32 @@
+package com.kkarimi.eventmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties("app.cache")
+record CacheTuningProperties(Map<String, Tuning> caches) {
+
+    CacheTuningProperties {
+        caches = caches == null ? Map.of() : Map.copyOf(caches);
+    }
+
+    Duration timeToLive(String cacheName, Duration fallback) {
+        Tuning tuning = caches.get(cacheName);
+        return tuning == null || tuning.timeToLive() == null ? fallback : tuning.timeToLive();
+    }
+
+    long nearMaximumSize(String cacheName, long fallback) {
+        Tuning tuning = caches.get(cacheName);
+        return tuning == null || tuning.nearMaximumSize() == null ? fallback : tuning.nearMaximumSize();
+    }
+
+    Duration nearTimeToLive(String cacheName, Duration fallback) {
+        Tuning tuning = caches.get(cacheName);
+        return tuning == null || tuning.nearTimeToLive() == null ? fallback : tuning.nearTimeToLive();
+    }
+
+    record Tuning(Duration timeToLive, Long nearMaximumSize, Duration nearTimeToLive) {
+    }
+}
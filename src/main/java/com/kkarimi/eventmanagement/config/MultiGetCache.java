@@ -0,0 +1,36 @@
+package com.kkarimi.eventmanagement.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+public interface MultiGetCache extends Cache {
+
+    <K> Map<K, Object> getAll(Collection<K> keys);
+
+    void putAll(Map<?, ?> entries);
+
+    static <K> Map<K, Object> getAll(Cache cache, Collection<K> keys) {
+        if (cache instanceof MultiGetCache multiGetCache) {
+            return multiGetCache.getAll(keys);
+        }
+        Map<K, Object> hits = new HashMap<>();
+        for (K key : keys) {
+            ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                hits.put(key, wrapper.get());
+            }
+        }
+        return hits;
+    }
+
+    static void putAll(Cache cache, Map<?, ?> entries) {
+        if (cache instanceof MultiGetCache multiGetCache) {
+            multiGetCache.putAll(entries);
+            return;
+        }
+        entries.forEach(cache::put);
+    }
+}
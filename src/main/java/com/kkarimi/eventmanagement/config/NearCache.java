@@ -0,0 +1,140 @@
+package com.kkarimi.eventmanagement.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+class NearCache implements MultiGetCache {
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final NearCacheInvalidationPublisher invalidationPublisher;
+
+    NearCache(
+            Cache remote,
+            com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+            NearCacheInvalidationPublisher invalidationPublisher
+    ) {
+        this.remote = remote;
+        this.local = local;
+        this.invalidationPublisher = invalidationPublisher;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            return cached;
+        }
+        ValueWrapper loaded = remote.get(key);
+        if (loaded != null) {
+            local.put(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper == null) {
+            return null;
+        }
+        Object value = wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value
+            );
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value = remote.get(key, valueLoader);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        return value;
+    }
+
+    @Override
+    public <K> Map<K, Object> getAll(Collection<K> keys) {
+        Map<K, Object> hits = new HashMap<>();
+        List<K> misses = new ArrayList<>();
+        for (K key : keys) {
+            ValueWrapper cached = local.getIfPresent(localKey(key));
+            if (cached == null) {
+                misses.add(key);
+            } else if (cached.get() != null) {
+                hits.put(key, cached.get());
+            }
+        }
+        if (!misses.isEmpty()) {
+            MultiGetCache.getAll(remote, misses).forEach((key, value) -> {
+                local.put(localKey(key), new SimpleValueWrapper(value));
+                hits.put(key, value);
+            });
+        }
+        return hits;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        MultiGetCache.putAll(remote, entries);
+        entries.forEach((key, value) -> local.put(localKey(key), new SimpleValueWrapper(value)));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.invalidate(localKey);
+        invalidationPublisher.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationPublisher.publishClear(getName());
+    }
+
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,68 @@
+package com.kkarimi.eventmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnExpression("'${spring.cache.type:}' == 'redis' and ${app.cache.near.enabled:true}")
+class NearCacheConfiguration {
+
+    @Bean
+    NearCacheInvalidationPublisher nearCacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new NearCacheInvalidationPublisher(redisTemplate, UUID.randomUUID().toString());
+    }
+
+    @Bean
+    NearCacheManager cacheManager(
+            RedisConnectionFactory connectionFactory,
+            ObjectProvider<RedisCacheManagerBuilderCustomizer> customizers,
+            NearCacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry,
+            CacheTuningProperties tuningProperties,
+            @Value("${app.cache.near.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.near.time-to-live:30s}") Duration timeToLive
+    ) {
+        RedisCacheManager.RedisCacheManagerBuilder builder = RedisCacheManager.builder(connectionFactory);
+        customizers.orderedStream().forEach(customizer -> customizer.customize(builder));
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.afterPropertiesSet();
+        return new NearCacheManager(
+                redisCacheManager,
+                connectionFactory,
+                invalidationPublisher,
+                meterRegistry,
+                maximumSize,
+                timeToLive,
+                tuningProperties
+        );
+    }
+
+    @Bean
+    RedisMessageListenerContainer nearCacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            NearCacheInvalidationPublisher invalidationPublisher,
+            NearCacheManager cacheManager
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> invalidationPublisher.apply(new String(message.getBody(), StandardCharsets.UTF_8), cacheManager),
+                new ChannelTopic(NearCacheInvalidationPublisher.CHANNEL)
+        );
+        return container;
+    }
+}
@@ -0,0 +1,50 @@
+package com.kkarimi.eventmanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Slf4j
+class NearCacheInvalidationPublisher {
+
+    static final String CHANNEL = "v2::near-cache::invalidation";
+
+    private static final String SEPARATOR = "|";
+    private static final String EVICT = "E";
+    private static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+
+    NearCacheInvalidationPublisher(StringRedisTemplate redisTemplate, String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = nodeId;
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(String.join(SEPARATOR, nodeId, EVICT, cacheName, key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(String.join(SEPARATOR, nodeId, CLEAR, cacheName, ""));
+    }
+
+    void apply(String message, NearCacheManager cacheManager) {
+        String[] parts = message.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        switch (parts[1]) {
+            case EVICT -> cacheManager.evictLocal(parts[2], parts[3]);
+            case CLEAR -> cacheManager.clearLocal(parts[2]);
+            default -> log.warn("Ignoring unknown near-cache invalidation message: {}", message);
+        }
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException exception) {
+            log.warn("Could not broadcast near-cache invalidation '{}'; peers rely on L1 TTL", message, exception);
+        }
+    }
+}
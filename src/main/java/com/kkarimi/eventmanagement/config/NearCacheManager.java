@@ -0,0 +1,85 @@
+package com.kkarimi.eventmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+class NearCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final RedisConnectionFactory connectionFactory;
+    private final NearCacheInvalidationPublisher invalidationPublisher;
+    private final MeterRegistry meterRegistry;
+    private final long maximumSize;
+    private final Duration timeToLive;
+    private final CacheTuningProperties tuningProperties;
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    NearCacheManager(
+            CacheManager remote,
+            RedisConnectionFactory connectionFactory,
+            NearCacheInvalidationPublisher invalidationPublisher,
+            MeterRegistry meterRegistry,
+            long maximumSize,
+            Duration timeToLive,
+            CacheTuningProperties tuningProperties
+    ) {
+        this.remote = remote;
+        this.connectionFactory = connectionFactory;
+        this.invalidationPublisher = invalidationPublisher;
+        this.meterRegistry = meterRegistry;
+        this.maximumSize = maximumSize;
+        this.timeToLive = timeToLive;
+        this.tuningProperties = tuningProperties;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    void evictLocal(String cacheName, String key) {
+        NearCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    void clearLocal(String cacheName) {
+        NearCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private NearCache createCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        if (remoteCache instanceof RedisCache redisCache) {
+            remoteCache = new RedisMultiGetCache(redisCache, connectionFactory);
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Cache.ValueWrapper> local = Caffeine.newBuilder()
+                .maximumSize(tuningProperties.nearMaximumSize(name, maximumSize))
+                .expireAfterWrite(tuningProperties.nearTimeToLive(name, timeToLive))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, "tier", "l1");
+        return new NearCache(remoteCache, local, invalidationPublisher);
+    }
+}
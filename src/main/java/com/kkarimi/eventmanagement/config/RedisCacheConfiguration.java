@@ -2,31 +2,46 @@ package com.kkarimi.eventmanagement.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.Cache;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
 import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
+import java.time.Duration;
+
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(CacheTuningProperties.class)
 class RedisCacheConfiguration implements CachingConfigurer {
 
     @Bean
-    RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
+    RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(
+            @Value("${spring.cache.redis.time-to-live:10m}") Duration timeToLive,
+            CacheTuningProperties tuningProperties
+    ) {
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer()
                 .configure(ObjectMapper::findAndRegisterModules);
-        return builder -> builder.cacheDefaults(
+        org.springframework.data.redis.cache.RedisCacheConfiguration defaults =
                 org.springframework.data.redis.cache.RedisCacheConfiguration.defaultCacheConfig()
                         .prefixCacheNameWith("v2::")
+                        .entryTtl(timeToLive)
                         .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
                                 serializer
-                        ))
-        );
+                        ));
+        return builder -> {
+            builder.cacheDefaults(defaults);
+            tuningProperties.caches().keySet().forEach(cacheName -> builder.withCacheConfiguration(
+                    cacheName,
+                    defaults.entryTtl(tuningProperties.timeToLive(cacheName, timeToLive))
+            ));
+        };
     }
 
     @Override
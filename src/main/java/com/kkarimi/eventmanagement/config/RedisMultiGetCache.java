@@ -0,0 +1,145 @@
+package com.kkarimi.eventmanagement.config;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+class RedisMultiGetCache implements MultiGetCache {
+
+    private static final byte[] BINARY_NULL_VALUE = RedisSerializer.java().serialize(NullValue.INSTANCE);
+
+    private final RedisCache delegate;
+    private final RedisConnectionFactory connectionFactory;
+
+    RedisMultiGetCache(RedisCache delegate, RedisConnectionFactory connectionFactory) {
+        this.delegate = delegate;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public <K> Map<K, Object> getAll(Collection<K> keys) {
+        Map<K, Object> hits = new HashMap<>();
+        if (keys.isEmpty()) {
+            return hits;
+        }
+        List<K> orderedKeys = List.copyOf(keys);
+        byte[][] redisKeys = orderedKeys.stream().map(this::redisKey).toArray(byte[][]::new);
+        List<byte[]> values;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            values = connection.stringCommands().mGet(redisKeys);
+        }
+        if (values == null) {
+            return hits;
+        }
+        for (int index = 0; index < orderedKeys.size(); index++) {
+            byte[] value = values.get(index);
+            if (value != null && !Arrays.equals(value, BINARY_NULL_VALUE)) {
+                Object decoded = configuration().getValueSerializationPair().read(ByteBuffer.wrap(value));
+                if (decoded != null) {
+                    hits.put(orderedKeys.get(index), decoded);
+                }
+            }
+        }
+        return hits;
+    }
+
+    @Override
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            entries.forEach((key, value) -> {
+                if (value != null) {
+                    connection.stringCommands().set(
+                            redisKey(key),
+                            ByteUtils.getBytes(configuration().getValueSerializationPair().write(value)),
+                            expiration(key, value),
+                            SetOption.upsert()
+                    );
+                }
+            });
+            connection.closePipeline();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    private RedisCacheConfiguration configuration() {
+        return delegate.getCacheConfiguration();
+    }
+
+    private byte[] redisKey(Object key) {
+        String cacheKey = configuration().getConversionService().convert(key, String.class);
+        if (configuration().usePrefix()) {
+            cacheKey = configuration().getKeyPrefixFor(getName()) + cacheKey;
+        }
+        return ByteUtils.getBytes(configuration().getKeySerializationPair().write(cacheKey));
+    }
+
+    private Expiration expiration(Object key, Object value) {
+        Duration timeToLive = configuration().getTtlFunction().getTimeToLive(key, value);
+        return timeToLive.isZero() || timeToLive.isNegative()
+                ? Expiration.persistent()
+                : Expiration.from(timeToLive);
+    }
+}
@@ -0,0 +1,189 @@
+package com.kkarimi.eventmanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+class WorkloadExecutor implements TaskExecutor, DisposableBean {
+
+    enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    enum RejectionPolicy {
+        CALLER_RUNS,
+        DISCARD,
+        ABORT
+    }
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final String name;
+    private final Mode mode;
+    private final RejectionPolicy rejectionPolicy;
+    private final ThreadPoolExecutor platformPool;
+    private final ThreadFactory virtualThreads;
+    private final Semaphore running;
+    private final Semaphore admitted;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer waitTime;
+    private final Timer taskDuration;
+    private final Counter rejected;
+
+    WorkloadExecutor(
+            String name,
+            Mode mode,
+            int concurrency,
+            int queueCapacity,
+            RejectionPolicy rejectionPolicy,
+            MeterRegistry meterRegistry
+    ) {
+        if (concurrency < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Executor '" + name + "' needs concurrency >= 1 and queue-capacity >= 0");
+        }
+        this.name = name;
+        this.mode = mode;
+        this.rejectionPolicy = rejectionPolicy;
+        if (mode == Mode.VIRTUAL) {
+            this.platformPool = null;
+            this.virtualThreads = Thread.ofVirtual().name(name + "-", 0).factory();
+            this.running = new Semaphore(concurrency);
+            this.admitted = new Semaphore(concurrency + queueCapacity);
+        } else {
+            this.platformPool = new ThreadPoolExecutor(
+                    concurrency,
+                    concurrency,
+                    0,
+                    TimeUnit.MILLISECONDS,
+                    queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofPlatform().name(name + "-", 0).daemon().factory(),
+                    (task, executor) -> reject(task)
+            );
+            this.virtualThreads = null;
+            this.running = null;
+            this.admitted = null;
+        }
+        this.waitTime = Timer.builder("async.executor.task.wait")
+                .tag("executor", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.taskDuration = Timer.builder("async.executor.task.duration")
+                .tag("executor", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("async.executor.rejected.total")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("async.executor.queue.depth", queued, AtomicInteger::get)
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", active, AtomicInteger::get)
+                .tag("executor", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (mode == Mode.PLATFORM) {
+            platformPool.execute(measured(task));
+            return;
+        }
+        if (!admitted.tryAcquire()) {
+            reject(task);
+            return;
+        }
+        Runnable measured = measured(task);
+        virtualThreads.newThread(() -> {
+            running.acquireUninterruptibly();
+            try {
+                measured.run();
+            } finally {
+                running.release();
+                admitted.release();
+            }
+        }).start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (platformPool != null) {
+            platformPool.shutdown();
+            if (!platformPool.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Executor '{}' did not finish {} queued tasks before shutdown", name, platformPool.getQueue().size());
+                platformPool.shutdownNow();
+            }
+        }
+    }
+
+    private Runnable measured(Runnable task) {
+        long submittedAt = System.nanoTime();
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        queued.incrementAndGet();
+        return new MeasuredTask(task, context, () -> {
+            queued.decrementAndGet();
+            waitTime.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+        });
+    }
+
+    private void reject(Runnable task) {
+        rejected.increment();
+        Runnable original = task instanceof MeasuredTask measured ? measured.forget() : task;
+        switch (rejectionPolicy) {
+            case CALLER_RUNS -> taskDuration.record(original);
+            case DISCARD -> log.debug("Executor '{}' is saturated, discarding task", name);
+            case ABORT -> throw new TaskRejectedException("Executor '" + name + "' is saturated");
+        }
+    }
+
+    private final class MeasuredTask implements Runnable {
+
+        private final Runnable task;
+        private final Map<String, String> context;
+        private final Runnable onStart;
+
+        private MeasuredTask(Runnable task, Map<String, String> context, Runnable onStart) {
+            this.task = task;
+            this.context = context;
+            this.onStart = onStart;
+        }
+
+        @Override
+        public void run() {
+            onStart.run();
+            active.incrementAndGet();
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                taskDuration.record(task);
+            } finally {
+                MDC.clear();
+                active.decrementAndGet();
+            }
+        }
+
+        private Runnable forget() {
+            queued.decrementAndGet();
+            return task;
+        }
+    }
+}
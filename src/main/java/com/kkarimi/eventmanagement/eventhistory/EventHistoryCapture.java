@@ -0,0 +1,19 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import java.time.Instant;
+import java.util.List;
+
+record EventHistoryCapture(
+        String module,
+        String action,
+        String entity,
+        String entityIdExpression,
+        String traceId,
+        EventHistoryOutcome outcome,
+        Instant occurredAt,
+        EventHistoryPayloadSpec payloadSpec,
+        Object payload,
+        Object result,
+        List<EventHistoryCapture> children
+) {
+}
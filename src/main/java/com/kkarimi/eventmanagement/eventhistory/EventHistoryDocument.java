@@ -5,15 +5,28 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "event_history")
+@CompoundIndexes({
+        @CompoundIndex(
+                name = "idx_event_history_module_entity_occurred_at",
+                def = "{'module': 1, 'entity': 1, 'occurredAt': -1, '_id': -1}"
+        ),
+        @CompoundIndex(
+                name = "idx_event_history_entities_occurred_at",
+                def = "{'entities.entity': 1, 'entities.entityId': 1, 'occurredAt': -1, '_id': -1}"
+        )
+})
 class EventHistoryDocument {
 
     @Id
@@ -25,9 +38,25 @@ class EventHistoryDocument {
 
     private String entity;
 
+    private String entityId;
+
+    private String traceId;
+
+    private EventHistoryOutcome outcome;
+
     private Instant occurredAt;
 
-    private String payload;
+    private Integer format;
+
+    private Object payload;
+
+    private byte[] compressedPayload;
+
+    private Object result;
+
+    private byte[] compressedResult;
+
+    private List<EventHistoryDocument> children;
 
-    private String result;
+    private List<EventHistoryEntityRef> entities;
 }
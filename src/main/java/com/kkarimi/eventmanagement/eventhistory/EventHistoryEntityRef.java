@@ -0,0 +1,4 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+record EventHistoryEntityRef(String entity, String entityId) {
+}
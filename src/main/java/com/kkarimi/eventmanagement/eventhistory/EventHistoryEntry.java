@@ -0,0 +1,19 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import java.time.Instant;
+import java.util.List;
+
+public record EventHistoryEntry(
+        String id,
+        String module,
+        String action,
+        String entity,
+        String entityId,
+        String traceId,
+        EventHistoryOutcome outcome,
+        Instant occurredAt,
+        String payload,
+        String result,
+        List<EventHistoryEntry> children
+) {
+}
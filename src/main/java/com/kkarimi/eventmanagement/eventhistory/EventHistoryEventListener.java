@@ -1,26 +1,37 @@
 package com.kkarimi.eventmanagement.eventhistory;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @RequiredArgsConstructor
 class EventHistoryEventListener {
 
-    private final EventHistoryRepository repository;
+    private final EventHistoryRecorder recorder;
 
-    @Async
     @EventListener
     public void onEventHistoryRecorded(EventHistoryRecordedEvent event) {
-        repository.save(EventHistoryDocument.builder()
-                .module(event.module())
-                .action(event.action())
-                .entity(event.entity())
-                .occurredAt(event.occurredAt())
-                .payload(event.payload())
-                .result(event.result())
-                .build());
+        recorder.record(new EventHistoryCapture(
+                event.module(),
+                event.action(),
+                event.entity(),
+                "",
+                MDC.get(EventHistoryTrackingAspect.TRACE_ID_KEY),
+                EventHistoryOutcome.SUCCESS,
+                event.occurredAt(),
+                EventHistoryPayloadSpec.FULL,
+                rawJson(event.payload()),
+                rawJson(event.result()),
+                List.of()
+        ));
+    }
+
+    private static RawValue rawJson(String json) {
+        return json == null ? null : new RawValue(json);
     }
 }
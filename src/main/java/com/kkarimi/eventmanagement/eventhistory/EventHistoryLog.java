@@ -0,0 +1,9 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+public interface EventHistoryLog {
+
+    Window<EventHistoryEntry> find(EventHistoryQuery query, ScrollPosition position, int size);
+}
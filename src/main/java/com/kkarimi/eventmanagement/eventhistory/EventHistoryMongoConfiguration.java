@@ -0,0 +1,29 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+class EventHistoryMongoConfiguration {
+
+    // Mongo only backs the event history, so the client fails fast instead of holding the writer for the driver's
+    // 30s server selection default while the queue fills up behind it.
+    @Bean
+    MongoClientSettingsBuilderCustomizer eventHistoryMongoTimeouts(
+            @Value("${app.history.mongo.server-selection-timeout:2s}") Duration serverSelectionTimeout,
+            @Value("${app.history.mongo.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${app.history.mongo.socket-timeout:5s}") Duration socketTimeout
+    ) {
+        return builder -> builder
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .readTimeout(socketTimeout.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,76 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.history.outbox.enabled", havingValue = "true")
+class EventHistoryOutbox {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO event_history_outbox
+                (module, action, entity, entity_id, trace_id, outcome, occurred_at, payload, result, children)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventHistorySerializer serializer;
+
+    boolean append(EventHistoryCapture capture) {
+        if (capture.outcome() == EventHistoryOutcome.FAILURE
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        PendingRows pending = (PendingRows) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingRows();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.captures.add(capture);
+        return true;
+    }
+
+    private void insert(List<EventHistoryCapture> captures) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, captures, captures.size(), (statement, capture) -> {
+            EventHistorySerializer.JsonCapture json = serializer.toJson(capture);
+            statement.setString(1, capture.module());
+            statement.setString(2, capture.action());
+            statement.setString(3, capture.entity());
+            statement.setString(4, json.entityId());
+            statement.setString(5, capture.traceId());
+            statement.setString(6, capture.outcome().name());
+            statement.setObject(7, LocalDateTime.ofInstant(capture.occurredAt(), ZoneOffset.UTC));
+            statement.setString(8, json.payload());
+            statement.setString(9, json.result());
+            statement.setString(10, json.children());
+        });
+    }
+
+    private final class PendingRows implements TransactionSynchronization {
+
+        private final List<EventHistoryCapture> captures = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            insert(captures);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EventHistoryOutbox.this);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.history.outbox.enabled", havingValue = "true")
+class EventHistoryOutboxRelay {
+
+    private static final String SELECT_SQL = """
+            SELECT id, module, action, entity, entity_id, trace_id, outcome, occurred_at, payload, result, children
+            FROM event_history_outbox
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+    private static final String DELETE_SQL = "DELETE FROM event_history_outbox WHERE id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventHistoryStore store;
+    private final EventHistorySerializer serializer;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter relayed;
+    private final Timer relayDuration;
+    private final AtomicLong oldestRelayedAt = new AtomicLong();
+
+    EventHistoryOutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EventHistoryStore store,
+            EventHistorySerializer serializer,
+            MeterRegistry meterRegistry,
+            @Value("${app.history.outbox.relay-batch-size:1000}") int batchSize,
+            @Value("${app.history.outbox.relay-max-batches:10}") int maxBatchesPerRun
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.store = store;
+        this.serializer = serializer;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.relayed = meterRegistry.counter("event.history.outbox.relayed.total");
+        this.relayDuration = Timer.builder("event.history.outbox.relay.duration")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("event.history.outbox.lag", oldestRelayedAt, EventHistoryOutboxRelay::lagInSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Async("historyExecutor")
+    @Scheduled(fixedDelayString = "${app.history.outbox.relay-interval:1s}")
+    public void relay() {
+        // A backlog is drained over several runs so the history executor is released between them.
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            if (relayBatch() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    int relayBatch() {
+        try {
+            Integer count = relayDuration.record(() -> transactionTemplate.execute(status -> {
+                List<OutboxRow> rows = jdbcTemplate.query(SELECT_SQL, EventHistoryOutboxRelay::mapRow, batchSize);
+                if (rows.isEmpty()) {
+                    oldestRelayedAt.set(0);
+                    return 0;
+                }
+                oldestRelayedAt.set(rows.getFirst().occurredAt().toEpochMilli());
+                store.insertMany(rows.stream().map(row -> row.toDocument(serializer)).toList());
+                jdbcTemplate.batchUpdate(DELETE_SQL, contiguousRanges(rows));
+                return rows.size();
+            }));
+            int relayedRows = count == null ? 0 : count;
+            relayed.increment(relayedRows);
+            return relayedRows;
+        } catch (RuntimeException ex) {
+            log.warn("Event history outbox relay failed, rows stay in the outbox: {}", ex.getMessage());
+            return 0;
+        }
+    }
+
+    static List<Object[]> contiguousRanges(List<OutboxRow> rows) {
+        List<Object[]> ranges = new ArrayList<>();
+        long start = rows.getFirst().id();
+        long previous = start;
+        for (int index = 1; index < rows.size(); index++) {
+            long id = rows.get(index).id();
+            if (id != previous + 1) {
+                ranges.add(new Object[]{start, previous});
+                start = id;
+            }
+            previous = id;
+        }
+        ranges.add(new Object[]{start, previous});
+        return ranges;
+    }
+
+    private static double lagInSeconds(AtomicLong oldestRelayedAt) {
+        long occurredAt = oldestRelayedAt.get();
+        return occurredAt == 0 ? 0 : Math.max(0, System.currentTimeMillis() - occurredAt) / 1000.0;
+    }
+
+    private static OutboxRow mapRow(ResultSet resultSet, int rowNumber) throws SQLException {
+        return new OutboxRow(
+                resultSet.getLong("id"),
+                resultSet.getString("module"),
+                resultSet.getString("action"),
+                resultSet.getString("entity"),
+                resultSet.getString("entity_id"),
+                resultSet.getString("trace_id"),
+                EventHistoryOutcome.valueOf(resultSet.getString("outcome")),
+                resultSet.getObject("occurred_at", LocalDateTime.class).toInstant(ZoneOffset.UTC),
+                resultSet.getString("payload"),
+                resultSet.getString("result"),
+                resultSet.getString("children")
+        );
+    }
+
+    record OutboxRow(
+            long id,
+            String module,
+            String action,
+            String entity,
+            String entityId,
+            String traceId,
+            EventHistoryOutcome outcome,
+            Instant occurredAt,
+            String payload,
+            String result,
+            String children
+    ) {
+
+        EventHistoryDocument toDocument(EventHistorySerializer serializer) {
+            return serializer.toDocument(EventHistoryDocument.builder()
+                    .id(documentId().toHexString())
+                    .module(module)
+                    .action(action)
+                    .entity(entity)
+                    .entityId(entityId)
+                    .traceId(traceId)
+                    .outcome(outcome)
+                    .occurredAt(occurredAt), payload, result, children);
+        }
+
+        ObjectId documentId() {
+            return new ObjectId(ByteBuffer.allocate(12)
+                    .putInt((int) occurredAt.getEpochSecond())
+                    .putLong(id)
+                    .array());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+public enum EventHistoryOutcome {
+    SUCCESS,
+    FAILURE
+}
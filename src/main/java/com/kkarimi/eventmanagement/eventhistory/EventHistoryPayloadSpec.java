@@ -0,0 +1,27 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import java.util.List;
+
+record EventHistoryPayloadSpec(
+        TrackEventHistory.PayloadPolicy policy,
+        List<String> include,
+        List<String> exclude,
+        int maxSize
+) {
+
+    static final EventHistoryPayloadSpec FULL = new EventHistoryPayloadSpec(
+            TrackEventHistory.PayloadPolicy.FULL,
+            List.of(),
+            List.of(),
+            -1
+    );
+
+    static EventHistoryPayloadSpec of(TrackEventHistory trackEventHistory) {
+        return new EventHistoryPayloadSpec(
+                trackEventHistory.payload(),
+                List.of(trackEventHistory.include()),
+                List.of(trackEventHistory.exclude()),
+                trackEventHistory.maxPayloadSize()
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import java.time.Instant;
+
+public record EventHistoryQuery(String module, String entity, String entityId, Instant from, Instant to) {
+
+    public EventHistoryQuery {
+        module = blankToNull(module);
+        entity = blankToNull(entity);
+        entityId = blankToNull(entityId);
+        if (entity == null || (entityId == null && module == null)) {
+            throw new IllegalArgumentException("History query requires entity together with entityId or module");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
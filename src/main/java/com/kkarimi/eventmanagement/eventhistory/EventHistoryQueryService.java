@@ -0,0 +1,97 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+class EventHistoryQueryService implements EventHistoryLog {
+
+    static final String OCCURRED_AT_KEY = "occurredAt";
+    static final String ID_KEY = "id";
+
+    private final MongoTemplate mongoTemplate;
+    private final EventHistoryStore store;
+    private final EventHistorySerializer serializer;
+
+    @Override
+    public Window<EventHistoryEntry> find(EventHistoryQuery query, ScrollPosition position, int size) {
+        store.ensureIndexes();
+        List<Criteria> criteria = new ArrayList<>();
+        if (query.entityId() != null) {
+            criteria.add(Criteria.where("entities").elemMatch(
+                    Criteria.where("entity").is(query.entity()).and("entityId").is(query.entityId())
+            ));
+        } else {
+            criteria.add(Criteria.where("entity").is(query.entity()));
+        }
+        if (query.module() != null) {
+            criteria.add(Criteria.where("module").is(query.module()));
+        }
+        if (query.from() != null) {
+            criteria.add(Criteria.where(OCCURRED_AT_KEY).gte(query.from()));
+        }
+        if (query.to() != null) {
+            criteria.add(Criteria.where(OCCURRED_AT_KEY).lt(query.to()));
+        }
+        if (!position.isInitial()) {
+            Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+            Instant occurredAt = (Instant) keys.get(OCCURRED_AT_KEY);
+            ObjectId id = new ObjectId((String) keys.get(ID_KEY));
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where(OCCURRED_AT_KEY).lt(occurredAt),
+                    Criteria.where(OCCURRED_AT_KEY).is(occurredAt).and(ID_KEY).lt(id)
+            ));
+        }
+
+        Query mongoQuery = new Query(new Criteria().andOperator(criteria))
+                .with(Sort.by(Sort.Direction.DESC, OCCURRED_AT_KEY, ID_KEY))
+                .limit(size + 1);
+        if (query.entityId() != null) {
+            mongoQuery.withHint("idx_event_history_entities_occurred_at");
+        } else {
+            mongoQuery.withHint("idx_event_history_module_entity_occurred_at");
+        }
+
+        List<EventHistoryDocument> rows = mongoTemplate.find(mongoQuery, EventHistoryDocument.class);
+        List<EventHistoryEntry> content = rows.stream().limit(size).map(this::toEntry).toList();
+        return Window.from(content, index -> positionOf(content.get(index)), rows.size() > size);
+    }
+
+    private static ScrollPosition positionOf(EventHistoryEntry entry) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(OCCURRED_AT_KEY, entry.occurredAt());
+        keys.put(ID_KEY, entry.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    private EventHistoryEntry toEntry(EventHistoryDocument document) {
+        return new EventHistoryEntry(
+                document.getId(),
+                document.getModule(),
+                document.getAction(),
+                document.getEntity(),
+                document.getEntityId(),
+                document.getTraceId(),
+                document.getOutcome(),
+                document.getOccurredAt(),
+                serializer.payloadJson(document),
+                serializer.resultJson(document),
+                document.getChildren() == null ? List.of() : document.getChildren().stream().map(this::toEntry).toList()
+        );
+    }
+}
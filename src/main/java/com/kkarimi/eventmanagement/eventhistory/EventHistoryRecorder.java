@@ -0,0 +1,53 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+class EventHistoryRecorder {
+
+    private final EventHistoryWriter writer;
+    private final EventHistoryOutbox outbox;
+    private final boolean coalesceNestedCalls;
+    private final ThreadLocal<List<EventHistoryCapture>> openScope = new ThreadLocal<>();
+
+    EventHistoryRecorder(
+            EventHistoryWriter writer,
+            ObjectProvider<EventHistoryOutbox> outbox,
+            @Value("${app.history.coalesce-nested-calls:true}") boolean coalesceNestedCalls
+    ) {
+        this.writer = writer;
+        this.outbox = outbox.getIfAvailable();
+        this.coalesceNestedCalls = coalesceNestedCalls;
+    }
+
+    List<EventHistoryCapture> openScope() {
+        if (!coalesceNestedCalls || openScope.get() != null) {
+            return null;
+        }
+        List<EventHistoryCapture> children = new ArrayList<>();
+        openScope.set(children);
+        return children;
+    }
+
+    void closeScope(List<EventHistoryCapture> children) {
+        if (children != null) {
+            openScope.remove();
+        }
+    }
+
+    void record(EventHistoryCapture capture) {
+        List<EventHistoryCapture> children = openScope.get();
+        if (children != null) {
+            children.add(capture);
+            return;
+        }
+        if (outbox == null || !outbox.append(capture)) {
+            writer.enqueue(capture);
+        }
+    }
+}
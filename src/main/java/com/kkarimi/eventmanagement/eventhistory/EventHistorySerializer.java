@@ -0,0 +1,464 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@Component
+class EventHistorySerializer {
+
+    static final int COMPACT_FORMAT = 2;
+
+    private static final String SERIALIZATION_FAILED = "{\"error\":\"serialization_failed\"}";
+    private static final int SUMMARY_TEXT_LIMIT = 64;
+
+    private final ObjectMapper objectMapper;
+    private final int defaultMaxSize;
+    private final int compressionThreshold;
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+    private final Map<String, Expression> entityIdExpressions = new ConcurrentHashMap<>();
+
+    EventHistorySerializer(
+            ObjectMapper objectMapper,
+            @Value("${app.history.payload.max-size:16KB}") DataSize defaultMaxSize,
+            @Value("${app.history.payload.compression-threshold:1KB}") DataSize compressionThreshold
+    ) {
+        this.objectMapper = objectMapper;
+        this.defaultMaxSize = (int) Math.min(Integer.MAX_VALUE, defaultMaxSize.toBytes());
+        this.compressionThreshold = (int) Math.min(Integer.MAX_VALUE, compressionThreshold.toBytes());
+    }
+
+    EventHistoryDocument toDocument(EventHistoryCapture capture) {
+        return withEntities(document(capture));
+    }
+
+    // Outbox rows only need JSON text; compaction and compression happen once, on the relay.
+    JsonCapture toJson(EventHistoryCapture capture) {
+        int maxSize = maxSize(capture.payloadSpec());
+        return new JsonCapture(
+                entityId(capture),
+                json(tree(capture.payloadSpec(), capture.payload()), maxSize),
+                json(resultTree(capture), maxSize),
+                childrenJson(capture.children())
+        );
+    }
+
+    private EventHistoryDocument document(EventHistoryCapture capture) {
+        EventHistoryPayloadSpec spec = capture.payloadSpec();
+        return compact(
+                EventHistoryDocument.builder()
+                        .module(capture.module())
+                        .action(capture.action())
+                        .entity(capture.entity())
+                        .entityId(entityId(capture))
+                        .traceId(capture.traceId())
+                        .outcome(capture.outcome())
+                        .occurredAt(capture.occurredAt())
+                        .children(capture.children().isEmpty()
+                                ? null
+                                : capture.children().stream().map(this::document).toList()),
+                tree(spec, capture.payload()),
+                resultTree(capture),
+                maxSize(spec)
+        );
+    }
+
+    private JsonNode resultTree(EventHistoryCapture capture) {
+        return capture.result() instanceof Throwable failure
+                ? failureTree(capture.payloadSpec(), failure)
+                : tree(capture.payloadSpec(), capture.result());
+    }
+
+    private int maxSize(EventHistoryPayloadSpec spec) {
+        return spec.maxSize() < 0 ? defaultMaxSize : spec.maxSize();
+    }
+
+    EventHistoryDocument toDocument(
+            EventHistoryDocument.EventHistoryDocumentBuilder builder,
+            String payloadJson,
+            String resultJson,
+            String childrenJson
+    ) {
+        return withEntities(compact(
+                builder.children(children(parse(childrenJson))),
+                parse(payloadJson),
+                parse(resultJson),
+                Integer.MAX_VALUE
+        ));
+    }
+
+    // Lists the entity of the document and of every nested child so entity timelines also find coalesced calls.
+    private static EventHistoryDocument withEntities(EventHistoryDocument document) {
+        Set<EventHistoryEntityRef> entities = new LinkedHashSet<>();
+        collectEntities(document, entities);
+        document.setEntities(entities.isEmpty() ? null : List.copyOf(entities));
+        return document;
+    }
+
+    private static void collectEntities(EventHistoryDocument document, Set<EventHistoryEntityRef> entities) {
+        if (document.getEntity() != null && document.getEntityId() != null) {
+            entities.add(new EventHistoryEntityRef(document.getEntity(), document.getEntityId()));
+        }
+        if (document.getChildren() != null) {
+            document.getChildren().forEach(child -> collectEntities(child, entities));
+        }
+    }
+
+    String payloadJson(EventHistoryDocument document) {
+        return readJson(document.getFormat(), document.getPayload(), document.getCompressedPayload());
+    }
+
+    String resultJson(EventHistoryDocument document) {
+        return readJson(document.getFormat(), document.getResult(), document.getCompressedResult());
+    }
+
+    private String childrenJson(List<EventHistoryCapture> captures) {
+        if (captures.isEmpty()) {
+            return null;
+        }
+        ArrayNode children = objectMapper.createArrayNode();
+        for (EventHistoryCapture child : captures) {
+            JsonCapture json = toJson(child);
+            ObjectNode node = children.addObject();
+            node.put("module", child.module());
+            node.put("action", child.action());
+            node.put("entity", child.entity());
+            node.put("entityId", json.entityId());
+            node.put("outcome", child.outcome().name());
+            node.put("occurredAt", child.occurredAt().toString());
+            putRaw(node, "payload", json.payload());
+            putRaw(node, "result", json.result());
+            putRaw(node, "children", json.children());
+        }
+        return children.toString();
+    }
+
+    private static void putRaw(ObjectNode node, String field, String json) {
+        if (json == null) {
+            node.putNull(field);
+        } else {
+            node.putRawValue(field, new RawValue(json));
+        }
+    }
+
+    private String json(JsonNode tree, int maxSize) {
+        if (tree == null || tree.isNull() || tree.isMissingNode()) {
+            return null;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tree);
+            if (maxSize > 0 && json.length > maxSize) {
+                return "{\"truncated\":true,\"size\":" + json.length + "}";
+            }
+            return new String(json, StandardCharsets.UTF_8);
+        } catch (JsonProcessingException ex) {
+            return SERIALIZATION_FAILED;
+        }
+    }
+
+    private EventHistoryDocument compact(
+            EventHistoryDocument.EventHistoryDocumentBuilder builder,
+            JsonNode payload,
+            JsonNode result,
+            int maxSize
+    ) {
+        Encoded encodedPayload = encode(payload, maxSize);
+        Encoded encodedResult = encode(result, maxSize);
+        return builder
+                .format(COMPACT_FORMAT)
+                .payload(encodedPayload.structured())
+                .compressedPayload(encodedPayload.compressed())
+                .result(encodedResult.structured())
+                .compressedResult(encodedResult.compressed())
+                .build();
+    }
+
+    private Encoded encode(JsonNode tree, int maxSize) {
+        if (tree == null || tree.isNull() || tree.isMissingNode()) {
+            return Encoded.EMPTY;
+        }
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(tree);
+            if (maxSize > 0 && json.length > maxSize) {
+                Map<String, Object> truncated = new LinkedHashMap<>();
+                truncated.put("truncated", true);
+                truncated.put("size", json.length);
+                return new Encoded(truncated, null);
+            }
+            if (json.length > compressionThreshold || hasUnsafeKeys(tree)) {
+                return new Encoded(null, gzip(json));
+            }
+            return new Encoded(objectMapper.treeToValue(tree, Object.class), null);
+        } catch (JsonProcessingException ex) {
+            return new Encoded(Map.of("error", "serialization_failed"), null);
+        }
+    }
+
+    private JsonNode tree(EventHistoryPayloadSpec spec, Object value) {
+        if (spec.policy() == TrackEventHistory.PayloadPolicy.NONE || value == null) {
+            return null;
+        }
+        JsonNode tree;
+        try {
+            if (value instanceof RawValue raw) {
+                tree = objectMapper.readTree(raw.rawValue().toString());
+            } else if (spec.policy() == TrackEventHistory.PayloadPolicy.SUMMARY) {
+                tree = objectMapper.valueToTree(value instanceof Object[] values
+                        ? Arrays.stream(values).map(this::summarize).toList()
+                        : summarize(value));
+            } else {
+                tree = objectMapper.valueToTree(value);
+            }
+        } catch (IllegalArgumentException | JsonProcessingException ex) {
+            return parse(SERIALIZATION_FAILED);
+        }
+        if (!spec.include().isEmpty()) {
+            include(tree, spec.include());
+        }
+        for (String path : spec.exclude()) {
+            exclude(tree, path.split("\\."), 0);
+        }
+        return tree;
+    }
+
+    private JsonNode failureTree(EventHistoryPayloadSpec spec, Throwable failure) {
+        if (spec.policy() == TrackEventHistory.PayloadPolicy.NONE) {
+            return null;
+        }
+        ObjectNode error = objectMapper.createObjectNode();
+        error.put("error", failure.getClass().getName());
+        error.put("message", failure.getMessage());
+        return error;
+    }
+
+    private static void include(JsonNode node, List<String> paths) {
+        if (node instanceof ArrayNode array) {
+            array.forEach(element -> include(element, paths));
+            return;
+        }
+        if (!(node instanceof ObjectNode object)) {
+            return;
+        }
+        Map<String, List<String>> nested = new LinkedHashMap<>();
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            String head = dot < 0 ? path : path.substring(0, dot);
+            List<String> rest = nested.computeIfAbsent(head, key -> new ArrayList<>());
+            if (dot < 0) {
+                rest.add("");
+            } else {
+                rest.add(path.substring(dot + 1));
+            }
+        }
+        object.retain(nested.keySet());
+        nested.forEach((name, rest) -> {
+            if (!rest.contains("")) {
+                include(object.get(name), rest);
+            }
+        });
+    }
+
+    private static void exclude(JsonNode node, String[] path, int index) {
+        if (node instanceof ArrayNode array) {
+            array.forEach(element -> exclude(element, path, index));
+            return;
+        }
+        if (!(node instanceof ObjectNode object)) {
+            return;
+        }
+        if (index == path.length - 1) {
+            object.remove(path[index]);
+        } else if (object.has(path[index])) {
+            exclude(object.get(path[index]), path, index + 1);
+        }
+    }
+
+    private static boolean hasUnsafeKeys(JsonNode node) {
+        if (node.isObject()) {
+            for (Map.Entry<String, JsonNode> field : node.properties()) {
+                if (field.getKey().indexOf('.') >= 0 || field.getKey().startsWith("$") || hasUnsafeKeys(field.getValue())) {
+                    return true;
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                if (hasUnsafeKeys(element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String readJson(Integer format, Object structured, byte[] compressed) {
+        if (compressed != null) {
+            return new String(gunzip(compressed), StandardCharsets.UTF_8);
+        }
+        if (structured == null) {
+            return null;
+        }
+        if (format == null && structured instanceof String legacyJson) {
+            return legacyJson;
+        }
+        try {
+            return objectMapper.writeValueAsString(structured);
+        } catch (JsonProcessingException ex) {
+            return SERIALIZATION_FAILED;
+        }
+    }
+
+    private List<EventHistoryDocument> children(JsonNode children) {
+        if (children == null || !children.isArray() || children.isEmpty()) {
+            return null;
+        }
+        List<EventHistoryDocument> documents = new ArrayList<>();
+        for (JsonNode child : children) {
+            documents.add(compact(
+                    EventHistoryDocument.builder()
+                            .module(child.path("module").asText(null))
+                            .action(child.path("action").asText(null))
+                            .entity(child.path("entity").asText(null))
+                            .entityId(child.path("entityId").asText(null))
+                            .outcome(EventHistoryOutcome.valueOf(child.path("outcome").asText()))
+                            .occurredAt(Instant.parse(child.path("occurredAt").asText()))
+                            .children(children(child.get("children"))),
+                    child.get("payload"),
+                    child.get("result"),
+                    Integer.MAX_VALUE
+            ));
+        }
+        return documents;
+    }
+
+    private JsonNode parse(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            return objectMapper.getNodeFactory().textNode(json);
+        }
+    }
+
+    private String entityId(EventHistoryCapture capture) {
+        if (capture.entityIdExpression() == null || capture.entityIdExpression().isEmpty()) {
+            return null;
+        }
+        try {
+            Expression expression = entityIdExpressions.computeIfAbsent(
+                    capture.entityIdExpression(),
+                    expressionParser::parseExpression
+            );
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            context.setVariable("args", capture.payload());
+            context.setVariable("result", capture.result() instanceof Throwable ? null : capture.result());
+            Object value = expression.getValue(context);
+            return value == null ? null : value.toString();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to evaluate history entity id '{}': {}", capture.entityIdExpression(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private Object summarize(Object value) {
+        if (value == null
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Enum<?>
+                || value instanceof TemporalAccessor) {
+            return value;
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() <= SUMMARY_TEXT_LIMIT ? text.toString() : text.subSequence(0, SUMMARY_TEXT_LIMIT) + "...";
+        }
+        if (value instanceof Collection<?> collection) {
+            return Map.of("size", collection.size());
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Map.of("size", map.size());
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("type", value.getClass().getSimpleName());
+        Object id = recordId(value);
+        if (id != null) {
+            summary.put("id", id);
+        }
+        return summary;
+    }
+
+    private static Object recordId(Object value) {
+        if (!value.getClass().isRecord()) {
+            return null;
+        }
+        for (RecordComponent component : value.getClass().getRecordComponents()) {
+            if (component.getName().equals("id")) {
+                try {
+                    return component.getAccessor().invoke(value);
+                } catch (ReflectiveOperationException | RuntimeException ex) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] compressed) {
+        try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    record JsonCapture(String entityId, String payload, String result, String children) {
+    }
+
+    private record Encoded(Object structured, byte[] compressed) {
+
+        private static final Encoded EMPTY = new Encoded(null, null);
+    }
+}
@@ -0,0 +1,282 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+class EventHistorySpool implements DisposableBean {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{20})\\.spool");
+
+    private final EventHistoryStore store;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int replayBatchSize;
+    private final Deque<SpoolSegment> segments = new ArrayDeque<>();
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final Counter replayed;
+    private final Counter corrupt;
+    private SpoolSegment active;
+    private long nextSequence;
+
+    EventHistorySpool(
+            EventHistoryStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.history.spool.directory:${java.io.tmpdir}/event-history-spool}") Path directory,
+            @Value("${app.history.spool.segment-size:16MB}") DataSize segmentSize,
+            @Value("${app.history.spool.max-size:1GB}") DataSize maxSize,
+            @Value("${app.history.writer.max-batch-size:500}") int replayBatchSize
+    ) {
+        if (segmentSize.toBytes() <= SpoolSegment.HEADER_SIZE + SpoolSegment.RECORD_HEADER_SIZE
+                || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid event history spool segment size: " + segmentSize);
+        }
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.maxSegments = (int) Math.max(1, maxSize.toBytes() / segmentSize.toBytes());
+        this.replayBatchSize = replayBatchSize;
+        this.replayed = meterRegistry.counter("event.history.spool.replayed.total");
+        this.corrupt = meterRegistry.counter("event.history.spool.corrupt.total");
+        Gauge.builder("event.history.spool.size", this, EventHistorySpool::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("event.history.spool.pending", pendingRecords, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("event.history.spool.lag", this, EventHistorySpool::lagInSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        recover();
+    }
+
+    synchronized int append(List<EventHistoryDocument> documents) {
+        long now = System.currentTimeMillis();
+        int appended = 0;
+        for (EventHistoryDocument document : documents) {
+            // The id is fixed before spooling so a replay retried after a partial insertMany hits duplicate keys
+            if (document.getId() == null) {
+                document.setId(new ObjectId().toHexString());
+            }
+            byte[] payload;
+            try {
+                payload = objectMapper.writeValueAsBytes(document);
+            } catch (JsonProcessingException ex) {
+                log.warn("Failed to encode event history document for the spool: {}", ex.getOriginalMessage());
+                continue;
+            }
+            if (!appendRecord(payload, now)) {
+                break;
+            }
+            pendingRecords.incrementAndGet();
+            appended++;
+        }
+        return appended;
+    }
+
+    @Async("historyReplayExecutor")
+    @Scheduled(fixedDelayString = "${app.history.spool.replay-interval:10s}")
+    public void replay() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (SpoolSegment segment : snapshot()) {
+                int limit = writePosition(segment);
+                if (!drain(segment, limit)) {
+                    return;
+                }
+                release(segment, limit);
+            }
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        for (SpoolSegment segment : segments) {
+            try {
+                segment.force();
+                segment.close();
+            } catch (IOException ex) {
+                log.warn("Failed to close event history spool segment {}: {}", segment.path(), ex.getMessage());
+            }
+        }
+        segments.clear();
+        active = null;
+    }
+
+    private boolean appendRecord(byte[] payload, long now) {
+        if (active != null && active.append(payload, now)) {
+            return true;
+        }
+        if (payload.length > segmentSize - SpoolSegment.HEADER_SIZE - SpoolSegment.RECORD_HEADER_SIZE) {
+            log.warn("Event history document of {} bytes does not fit a spool segment", payload.length);
+            return false;
+        }
+        return rotate(now) && active.append(payload, now);
+    }
+
+    private boolean rotate(long now) {
+        if (active != null) {
+            active.force();
+            active = null;
+        }
+        if (segments.size() >= maxSegments) {
+            return false;
+        }
+        try {
+            Files.createDirectories(directory);
+            active = SpoolSegment.create(directory.resolve(segmentName(nextSequence++)), segmentSize, now);
+            segments.addLast(active);
+            return true;
+        } catch (IOException ex) {
+            log.warn("Failed to create event history spool segment: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private boolean drain(SpoolSegment segment, int limit) {
+        int position = segment.readOffset();
+        while (position < limit) {
+            SpoolSegment.Records records = segment.read(position, limit, replayBatchSize);
+            List<EventHistoryDocument> documents = decode(records.payloads());
+            try {
+                store.insertMany(documents);
+            } catch (RuntimeException ex) {
+                log.warn("Event history spool replay paused, {} documents pending: {}", pendingRecords.get(), ex.getMessage());
+                return false;
+            }
+            if (records.corrupt() || records.payloads().isEmpty()) {
+                log.warn("Skipping corrupt event history spool data in {} from offset {}", segment.path(), records.nextPosition());
+                corrupt.increment();
+                position = limit;
+            } else {
+                position = records.nextPosition();
+            }
+            segment.commitReadOffset(position);
+            pendingRecords.addAndGet(-records.payloads().size());
+            replayed.increment(documents.size());
+        }
+        return true;
+    }
+
+    private List<EventHistoryDocument> decode(List<byte[]> payloads) {
+        List<EventHistoryDocument> documents = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            try {
+                documents.add(objectMapper.readValue(payload, EventHistoryDocument.class));
+            } catch (IOException ex) {
+                log.warn("Skipping unreadable spooled event history document: {}", ex.getMessage());
+                corrupt.increment();
+            }
+        }
+        return documents;
+    }
+
+    private synchronized List<SpoolSegment> snapshot() {
+        return List.copyOf(segments);
+    }
+
+    private synchronized int writePosition(SpoolSegment segment) {
+        return segment.writePosition();
+    }
+
+    private synchronized void release(SpoolSegment segment, int drainedUpTo) {
+        if (segment == active || segment.writePosition() != drainedUpTo) {
+            return;
+        }
+        segments.remove(segment);
+        try {
+            segment.close();
+            Files.deleteIfExists(segment.path());
+        } catch (IOException ex) {
+            log.warn("Failed to delete replayed event history spool segment {}: {}", segment.path(), ex.getMessage());
+        }
+    }
+
+    private synchronized double sizeInBytes() {
+        return (double) segments.size() * segmentSize;
+    }
+
+    private synchronized double lagInSeconds() {
+        for (SpoolSegment segment : segments) {
+            int readOffset = segment.readOffset();
+            if (readOffset < segment.writePosition()) {
+                return Math.max(0, System.currentTimeMillis() - segment.spooledAt(readOffset)) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    private void recover() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .toList()) {
+                nextSequence = Math.max(nextSequence, sequenceOf(file) + 1);
+                recover(file);
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to list event history spool directory {}: {}", directory, ex.getMessage());
+        }
+        if (pendingRecords.get() > 0) {
+            log.info("Recovered {} spooled event history documents from {}", pendingRecords.get(), directory);
+        }
+    }
+
+    private void recover(Path file) {
+        try {
+            SpoolSegment segment = SpoolSegment.open(file);
+            segments.addLast(segment);
+            pendingRecords.addAndGet(segment.read(segment.readOffset(), segment.writePosition(), Integer.MAX_VALUE)
+                    .payloads()
+                    .size());
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable event history spool segment {}: {}", file, ex.getMessage());
+            corrupt.increment();
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static String segmentName(long sequence) {
+        return "segment-%020d.spool".formatted(sequence);
+    }
+}
@@ -0,0 +1,82 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
+@Component
+class EventHistoryStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final WriteConcern writeConcern;
+    private volatile boolean indexesEnsured;
+
+    EventHistoryStore(
+            MongoTemplate mongoTemplate,
+            @Value("${app.history.writer.write-concern:W1}") String writeConcern
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.writeConcern = WriteConcern.valueOf(writeConcern);
+        if (this.writeConcern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + writeConcern);
+        }
+    }
+
+    void insertMany(List<EventHistoryDocument> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        ensureIndexes();
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (EventHistoryDocument history : batch) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(history, document);
+            documents.add(document);
+        }
+        try {
+            collection().insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException ex) {
+            if (!onlyDuplicates(ex)) {
+                throw ex;
+            }
+        }
+    }
+
+    void ensureIndexes() {
+        if (indexesEnsured) {
+            return;
+        }
+        try {
+            IndexOperations indexOperations = mongoTemplate.indexOps(EventHistoryDocument.class);
+            IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                    .resolveIndexFor(EventHistoryDocument.class)
+                    .forEach(indexOperations::createIndex);
+            indexesEnsured = true;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to ensure event history indexes: {}", ex.getMessage());
+        }
+    }
+
+    private static boolean onlyDuplicates(MongoBulkWriteException ex) {
+        return ex.getWriteConcernError() == null && ex.getWriteErrors().stream()
+                .allMatch(error -> ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY);
+    }
+
+    private MongoCollection<Document> collection() {
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(EventHistoryDocument.class))
+                .withWriteConcern(writeConcern);
+    }
+}
@@ -1,48 +1,70 @@
 package com.kkarimi.eventmanagement.eventhistory;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.context.ApplicationEventPublisher;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Aspect
 @Component
 @RequiredArgsConstructor
 class EventHistoryTrackingAspect {
 
-    private final ApplicationEventPublisher eventPublisher;
-    private final ObjectMapper objectMapper;
+    static final String TRACE_ID_KEY = "traceId";
+
+    private final EventHistoryRecorder recorder;
+    private final Map<Method, EventHistoryPayloadSpec> payloadSpecs = new ConcurrentHashMap<>();
 
     @Around("@annotation(trackEventHistory)")
     public Object captureEventHistory(
             ProceedingJoinPoint joinPoint,
             TrackEventHistory trackEventHistory
     ) throws Throwable {
-        Object result = joinPoint.proceed();
+        List<EventHistoryCapture> children = recorder.openScope();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            recorder.closeScope(children);
+            capture(joinPoint, trackEventHistory, EventHistoryOutcome.FAILURE, ex, children);
+            throw ex;
+        }
+        recorder.closeScope(children);
+        capture(joinPoint, trackEventHistory, EventHistoryOutcome.SUCCESS, result, children);
+        return result;
+    }
 
-        EventHistoryRecordedEvent event = new EventHistoryRecordedEvent(
+    private void capture(
+            ProceedingJoinPoint joinPoint,
+            TrackEventHistory trackEventHistory,
+            EventHistoryOutcome outcome,
+            Object result,
+            List<EventHistoryCapture> children
+    ) {
+        recorder.record(new EventHistoryCapture(
                 trackEventHistory.module(),
                 trackEventHistory.action(),
                 trackEventHistory.entity(),
+                trackEventHistory.entityId(),
+                MDC.get(TRACE_ID_KEY),
+                outcome,
                 Instant.now(),
-                toJson(joinPoint.getArgs()),
-                toJson(result)
-        );
-        eventPublisher.publishEvent(event);
-        return result;
-    }
-
-    private String toJson(Object value) {
-        try {
-            return objectMapper.writeValueAsString(value);
-        } catch (JsonProcessingException ex) {
-            return "{\"error\":\"serialization_failed\"}";
-        }
+                payloadSpecs.computeIfAbsent(
+                        ((MethodSignature) joinPoint.getSignature()).getMethod(),
+                        method -> EventHistoryPayloadSpec.of(trackEventHistory)
+                ),
+                joinPoint.getArgs(),
+                result,
+                children == null ? List.of() : children
+        ));
     }
 }
@@ -0,0 +1,250 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+class EventHistoryWriter implements DisposableBean {
+
+    enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SPILL
+    }
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final EventHistoryStore store;
+    private final EventHistorySpool spool;
+    private final EventHistorySerializer serializer;
+    private final MeterRegistry meterRegistry;
+    private final BlockingQueue<EventHistoryCapture> queue;
+    private final BlockingQueue<EventHistoryCapture> overflow;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final long blockTimeoutNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final long failureBackoffNanos;
+    private final Counter written;
+    private final Counter spilled;
+    private final DistributionSummary batchSize;
+    private final Timer flushDuration;
+    private final ExecutorService executor;
+    private volatile boolean running = true;
+    private long backoffUntil = System.nanoTime();
+
+    EventHistoryWriter(
+            EventHistoryStore store,
+            EventHistorySpool spool,
+            EventHistorySerializer serializer,
+            MeterRegistry meterRegistry,
+            @Value("${app.history.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.history.writer.max-batch-size:500}") int maxBatchSize,
+            @Value("${app.history.writer.linger:200ms}") Duration linger,
+            @Value("${app.history.writer.overflow-policy:SPILL}") OverflowPolicy overflowPolicy,
+            @Value("${app.history.writer.block-timeout:50ms}") Duration blockTimeout,
+            @Value("${app.history.writer.failure-backoff:5s}") Duration failureBackoff
+    ) {
+        if (queueCapacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("History writer queue capacity and batch size must be positive");
+        }
+        this.store = store;
+        this.spool = spool;
+        this.serializer = serializer;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.overflow = new ArrayBlockingQueue<>(overflowPolicy == OverflowPolicy.SPILL ? queueCapacity : 1);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = linger.toNanos();
+        this.blockTimeoutNanos = blockTimeout.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.failureBackoffNanos = failureBackoff.toNanos();
+        this.written = meterRegistry.counter("event.history.written.total");
+        this.spilled = meterRegistry.counter("event.history.spilled.total");
+        this.batchSize = DistributionSummary.builder("event.history.batch.size")
+                .baseUnit("documents")
+                .register(meterRegistry);
+        this.flushDuration = Timer.builder("event.history.flush.duration")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("event.history.queue.depth", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        Gauge.builder("event.history.spill.pending", overflow, BlockingQueue::size)
+                .register(meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("event-history-writer").daemon().factory()
+        );
+        executor.execute(this::run);
+    }
+
+    void enqueue(EventHistoryCapture capture) {
+        if (queue.offer(capture)) {
+            return;
+        }
+        switch (overflowPolicy) {
+            case BLOCK -> block(capture);
+            case DROP -> drop("queue-full", 1);
+            case SPILL -> handOffToSpill(capture);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Event history writer did not drain within 10s; {} queued documents are abandoned", queue.size());
+        }
+    }
+
+    private void block(EventHistoryCapture capture) {
+        try {
+            if (queue.offer(capture, blockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        drop("block-timeout", 1);
+    }
+
+    // Serializing and appending to the spool stay on the writer thread; the caller only hands the capture over.
+    private void handOffToSpill(EventHistoryCapture capture) {
+        if (!overflow.offer(capture)) {
+            drop("queue-full", 1);
+        }
+    }
+
+    private void run() {
+        List<EventHistoryCapture> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty() || !overflow.isEmpty()) {
+            try {
+                spillOverflow();
+                EventHistoryCapture first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                spillOverflow();
+                queue.drainTo(batch);
+                flush(batch);
+                return;
+            } catch (RuntimeException ex) {
+                // The writer is the only consumer of the queue; losing this batch is better than losing the thread.
+                log.error("Event history writer failed, dropping {} documents", batch.size(), ex);
+                drop("writer-failure", batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<EventHistoryCapture> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                return;
+            }
+            EventHistoryCapture next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<EventHistoryCapture> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        List<EventHistoryDocument> documents = serialize(batch);
+        try {
+            if (documents.isEmpty()) {
+                return;
+            }
+            if (overflowPolicy == OverflowPolicy.SPILL && System.nanoTime() - backoffUntil < 0) {
+                spill(documents, "write-failure");
+                return;
+            }
+            store.insertMany(documents);
+            written.increment(documents.size());
+        } catch (RuntimeException ex) {
+            log.warn("Failed to write {} event history documents: {}", documents.size(), ex.getMessage());
+            backoffUntil = System.nanoTime() + failureBackoffNanos;
+            if (overflowPolicy == OverflowPolicy.SPILL) {
+                spill(documents, "write-failure");
+            } else {
+                drop("write-failure", documents.size());
+            }
+        } finally {
+            flushDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            batchSize.record(batch.size());
+        }
+    }
+
+    private void spillOverflow() {
+        List<EventHistoryCapture> captures = new ArrayList<>();
+        if (overflow.drainTo(captures) == 0) {
+            return;
+        }
+        spill(serialize(captures), "queue-full");
+    }
+
+    private List<EventHistoryDocument> serialize(List<EventHistoryCapture> captures) {
+        List<EventHistoryDocument> documents = new ArrayList<>(captures.size());
+        for (EventHistoryCapture capture : captures) {
+            try {
+                documents.add(serializer.toDocument(capture));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to serialize event history {}/{}: {}", capture.module(), capture.action(), ex.getMessage());
+                drop("serialization-failure", 1);
+            }
+        }
+        return documents;
+    }
+
+    private void spill(List<EventHistoryDocument> documents, String reason) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        int appended;
+        try {
+            appended = spool.append(documents);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to spool {} event history documents: {}", documents.size(), ex.getMessage());
+            appended = 0;
+        }
+        spilled.increment(appended);
+        if (appended < documents.size()) {
+            drop(reason, documents.size() - appended);
+        }
+    }
+
+    private void drop(String reason, int count) {
+        meterRegistry.counter("event.history.dropped.total", "reason", reason).increment(count);
+    }
+}
@@ -0,0 +1,142 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+final class SpoolSegment implements Closeable {
+
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_HEADER_SIZE = 16;
+
+    private static final int MAGIC = 0x45485350;
+    private static final int VERSION = 1;
+    private static final int MAGIC_POSITION = 0;
+    private static final int VERSION_POSITION = 4;
+    private static final int READ_OFFSET_POSITION = 8;
+    private static final int CREATED_AT_POSITION = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private int writePosition;
+
+    private SpoolSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static SpoolSegment create(Path path, int size, long createdAtMillis) throws IOException {
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        SpoolSegment segment = new SpoolSegment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        segment.buffer.putLong(READ_OFFSET_POSITION, HEADER_SIZE);
+        segment.buffer.putLong(CREATED_AT_POSITION, createdAtMillis);
+        segment.buffer.putInt(VERSION_POSITION, VERSION);
+        segment.buffer.putInt(MAGIC_POSITION, MAGIC);
+        segment.writePosition = HEADER_SIZE;
+        return segment;
+    }
+
+    static SpoolSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+            channel.close();
+            throw new IOException("Invalid spool segment size: " + path);
+        }
+        SpoolSegment segment = new SpoolSegment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        if (segment.buffer.getInt(MAGIC_POSITION) != MAGIC || segment.buffer.getInt(VERSION_POSITION) != VERSION) {
+            segment.close();
+            throw new IOException("Not a spool segment: " + path);
+        }
+        segment.writePosition = segment.read(HEADER_SIZE, segment.buffer.capacity(), Integer.MAX_VALUE).nextPosition();
+        return segment;
+    }
+
+    boolean append(byte[] payload, long spooledAtMillis) {
+        int required = RECORD_HEADER_SIZE + payload.length;
+        if (payload.length == 0 || required > buffer.capacity() - writePosition) {
+            return false;
+        }
+        buffer.put(writePosition + RECORD_HEADER_SIZE, payload);
+        buffer.putLong(writePosition + 8, spooledAtMillis);
+        buffer.putInt(writePosition + 4, checksum(payload));
+        buffer.putInt(writePosition, payload.length);
+        writePosition += required;
+        return true;
+    }
+
+    Records read(int position, int limit, int maxRecords) {
+        List<byte[]> records = new ArrayList<>();
+        while (records.size() < maxRecords && position + RECORD_HEADER_SIZE <= limit) {
+            int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            if (length < 0 || length > limit - position - RECORD_HEADER_SIZE) {
+                return new Records(records, position, true);
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + RECORD_HEADER_SIZE, payload);
+            if (checksum(payload) != buffer.getInt(position + 4)) {
+                return new Records(records, position, true);
+            }
+            records.add(payload);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return new Records(records, position, false);
+    }
+
+    long spooledAt(int position) {
+        return buffer.getLong(position + 8);
+    }
+
+    int readOffset() {
+        return (int) buffer.getLong(READ_OFFSET_POSITION);
+    }
+
+    void commitReadOffset(int position) {
+        buffer.putLong(READ_OFFSET_POSITION, position);
+    }
+
+    int writePosition() {
+        return writePosition;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    record Records(List<byte[]> payloads, int nextPosition, boolean corrupt) {
+    }
+}
@@ -14,4 +14,20 @@ public @interface TrackEventHistory {
     String action();
 
     String entity();
+
+    String entityId() default "";
+
+    PayloadPolicy payload() default PayloadPolicy.FULL;
+
+    String[] include() default {};
+
+    String[] exclude() default {};
+
+    int maxPayloadSize() default -1;
+
+    enum PayloadPolicy {
+        FULL,
+        SUMMARY,
+        NONE
+    }
 }
@@ -1,8 +1,11 @@
 package com.kkarimi.eventmanagement.events;
 
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 public interface EventCatalog {
 
@@ -12,5 +15,15 @@ public interface EventCatalog {
 
     Event reserveSeat(Long eventId);
 
+    int reserveSeats(Long eventId, int requested);
+
+    boolean isSoldOut(Long eventId);
+
+    Event changeCapacity(Long eventId, int capacity);
+
     Page<Event> findAll(Pageable pageable);
+
+    Window<Event> findAll(ScrollPosition position, int size);
+
+    List<Event> findAvailable(EventWindowQuery query);
 }
@@ -0,0 +1,21 @@
+package com.kkarimi.eventmanagement.events;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record EventWindowQuery(LocalDateTime from, LocalDateTime to) {
+
+    public static final Duration MAX_SPAN = Duration.ofDays(31);
+
+    public EventWindowQuery {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Event window requires both 'from' and 'to'");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Event window 'from' must be before 'to'");
+        }
+        if (Duration.between(from, to).compareTo(MAX_SPAN) > 0) {
+            throw new IllegalArgumentException("Event window must not span more than " + MAX_SPAN.toDays() + " days");
+        }
+    }
+}
@@ -3,40 +3,75 @@ package com.kkarimi.eventmanagement.events.internal;
 import com.kkarimi.eventmanagement.eventhistory.TrackEventHistory;
 import com.kkarimi.eventmanagement.events.Event;
 import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.events.EventWindowQuery;
 import com.kkarimi.eventmanagement.events.NewEventCommand;
 import com.kkarimi.eventmanagement.metrics.MeasuredOperation;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 class EventCatalogService implements EventCatalog {
 
+    private static final String STARTS_AT_KEY = "startsAt";
+    private static final String ID_KEY = "id";
+
     private final EventJpaRepository repository;
     private final EventMapper mapper;
+    private final EventListCacheGeneration eventListCacheGeneration;
+    private final EventWindowCache eventWindowCache;
+    private final SoldOutRegistry soldOutRegistry;
+    private final SeatReservationMode seatReservationMode;
+
+    EventCatalogService(
+            EventJpaRepository repository,
+            EventMapper mapper,
+            EventListCacheGeneration eventListCacheGeneration,
+            EventWindowCache eventWindowCache,
+            SoldOutRegistry soldOutRegistry,
+            @Value("${app.events.seat-reservation.mode:CONDITIONAL_UPDATE}") SeatReservationMode seatReservationMode
+    ) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.eventListCacheGeneration = eventListCacheGeneration;
+        this.eventWindowCache = eventWindowCache;
+        this.soldOutRegistry = soldOutRegistry;
+        this.seatReservationMode = seatReservationMode;
+    }
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"eventById", "eventList"}, allEntries = true)
+    @CacheEvict(cacheNames = "eventById", key = "#result.id()")
     @MeasuredOperation(
             timer = "event.create.duration",
             successCounter = "event.created.total"
     )
-    @TrackEventHistory(module = "events", action = "create", entity = "event")
+    @TrackEventHistory(module = "events", action = "create", entity = "event", entityId = "#result?.id()")
     public Event create(NewEventCommand command) {
         if (command.capacity() <= 0) {
             throw new IllegalArgumentException("Event capacity must be greater than zero");
         }
         EventJpaEntity entity = mapper.toEntity(command);
-        return mapper.toModel(repository.save(entity));
+        Event event = mapper.toModel(repository.save(entity));
+        eventListCacheGeneration.advanceAfterCommit();
+        eventWindowCache.evictAfterCommit(event.startsAt());
+        return event;
     }
 
     @Override
@@ -48,24 +83,160 @@ class EventCatalogService implements EventCatalog {
 
     @Override
     @Transactional
-    @CacheEvict(cacheNames = {"eventById", "eventList"}, allEntries = true)
-    @TrackEventHistory(module = "events", action = "reserve-seat", entity = "event")
+    @CacheEvict(cacheNames = "eventById", key = "#eventId")
+    @TrackEventHistory(module = "events", action = "reserve-seat", entity = "event", entityId = "#args[0]")
     public Event reserveSeat(Long eventId) {
-        EventJpaEntity entity = repository.findByIdForUpdate(eventId)
-                .orElseThrow(() -> new NoSuchElementException("Event not found: " + eventId));
+        Event event = switch (seatReservationMode) {
+            case PESSIMISTIC_LOCK -> reserveSeatWithLock(eventId);
+            case CONDITIONAL_UPDATE -> reserveSeatWithConditionalUpdate(eventId);
+        };
+        eventListCacheGeneration.advanceAfterCommit();
+        eventWindowCache.evictAfterCommit(event.startsAt());
+        if (!event.hasAvailableSeats()) {
+            soldOutRegistry.markSoldOutAfterCommit(eventId, event.capacity());
+        }
+        return event;
+    }
 
-        if (entity.getReservedSeats() >= entity.getCapacity()) {
-            throw new IllegalStateException("No seat available for event: " + eventId);
+    @Override
+    @Transactional
+    @CacheEvict(cacheNames = "eventById", key = "#eventId")
+    @TrackEventHistory(module = "events", action = "reserve-seats", entity = "event", entityId = "#args[0]")
+    public int reserveSeats(Long eventId, int requested) {
+        if (requested <= 0) {
+            throw new IllegalArgumentException("Requested seats must be greater than zero");
         }
+        int granted = switch (seatReservationMode) {
+            case PESSIMISTIC_LOCK -> reserveAvailableSeatsWithLock(eventId, requested);
+            case CONDITIONAL_UPDATE -> repository.reserveSeatsIfAvailable(eventId, requested, Instant.now()) == 1
+                    ? requested
+                    : reserveAvailableSeatsWithLock(eventId, requested);
+        };
+        if (granted > 0) {
+            eventListCacheGeneration.advanceAfterCommit();
+            repository.findStartsAtById(eventId).ifPresent(eventWindowCache::evictAfterCommit);
+        }
+        return granted;
+    }
 
-        entity.setReservedSeats(entity.getReservedSeats() + 1);
-        return mapper.toModel(entity);
+    @Override
+    public boolean isSoldOut(Long eventId) {
+        return soldOutRegistry.isSoldOut(eventId);
     }
 
     @Override
-    @Cacheable(cacheNames = "eventList", key = "#pageable")
+    @Transactional
+    @CacheEvict(cacheNames = "eventById", key = "#eventId")
+    @TrackEventHistory(module = "events", action = "change-capacity", entity = "event", entityId = "#args[0]")
+    public Event changeCapacity(Long eventId, int capacity) {
+        EventJpaEntity entity = repository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> eventNotFound(eventId));
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Event capacity must be greater than zero");
+        }
+        if (capacity < entity.getReservedSeats()) {
+            throw new IllegalStateException(
+                    "Event capacity cannot be lower than the " + entity.getReservedSeats() + " reserved seats"
+            );
+        }
+        entity.setCapacity(capacity);
+        Event event = mapper.toModel(entity);
+        eventListCacheGeneration.advanceAfterCommit();
+        eventWindowCache.evictAfterCommit(event.startsAt());
+        if (event.hasAvailableSeats()) {
+            soldOutRegistry.clearAfterCommit(eventId, event.capacity());
+        } else {
+            soldOutRegistry.markSoldOutAfterCommit(eventId, event.capacity());
+        }
+        return event;
+    }
+
+    @Override
+    @Cacheable(cacheNames = "eventList", keyGenerator = EventListCacheGeneration.KEY_GENERATOR)
     @MeasuredOperation(timer = "event.lookup.duration")
     public Page<Event> findAll(Pageable pageable) {
         return repository.findAll(pageable).map(mapper::toModel);
     }
+
+    @Override
+    @MeasuredOperation(timer = "event.window.duration")
+    public List<Event> findAvailable(EventWindowQuery query) {
+        return eventWindowCache.find(
+                query,
+                (from, to) -> repository.findAvailableStartingBetween(from, to).stream().map(mapper::toModel).toList()
+        );
+    }
+
+    @Override
+    @MeasuredOperation(timer = "event.lookup.duration")
+    public Window<Event> findAll(ScrollPosition position, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<EventJpaEntity> rows;
+        if (position.isInitial()) {
+            rows = repository.findAllByOrderByStartsAtAscIdAsc(limit);
+        } else {
+            Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+            rows = repository.findAllAfter(
+                    (LocalDateTime) keys.get(STARTS_AT_KEY),
+                    (Long) keys.get(ID_KEY),
+                    limit
+            );
+        }
+        List<Event> content = rows.stream().limit(size).map(mapper::toModel).toList();
+        return Window.from(content, index -> positionOf(content.get(index)), rows.size() > size);
+    }
+
+    private ScrollPosition positionOf(Event event) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(STARTS_AT_KEY, event.startsAt());
+        keys.put(ID_KEY, event.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    private Event reserveSeatWithLock(Long eventId) {
+        EventJpaEntity entity = repository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> eventNotFound(eventId));
+
+        if (entity.getReservedSeats() >= entity.getCapacity()) {
+            soldOutRegistry.markSoldOut(eventId, entity.getCapacity());
+            throw noSeatAvailable(eventId);
+        }
+
+        entity.setReservedSeats(entity.getReservedSeats() + 1);
+        return mapper.toModel(entity);
+    }
+
+    private int reserveAvailableSeatsWithLock(Long eventId, int requested) {
+        EventJpaEntity entity = repository.findByIdForUpdate(eventId)
+                .orElseThrow(() -> eventNotFound(eventId));
+
+        int granted = Math.max(0, Math.min(requested, entity.getCapacity() - entity.getReservedSeats()));
+        entity.setReservedSeats(entity.getReservedSeats() + granted);
+        if (granted == 0) {
+            soldOutRegistry.markSoldOut(eventId, entity.getCapacity());
+        } else if (entity.getReservedSeats() >= entity.getCapacity()) {
+            soldOutRegistry.markSoldOutAfterCommit(eventId, entity.getCapacity());
+        }
+        return granted;
+    }
+
+    private Event reserveSeatWithConditionalUpdate(Long eventId) {
+        if (repository.reserveSeatsIfAvailable(eventId, 1, Instant.now()) == 0) {
+            int capacity = repository.findCapacityById(eventId)
+                    .orElseThrow(() -> eventNotFound(eventId));
+            soldOutRegistry.markSoldOut(eventId, capacity);
+            throw noSeatAvailable(eventId);
+        }
+        return repository.findById(eventId)
+                .map(mapper::toModel)
+                .orElseThrow(() -> eventNotFound(eventId));
+    }
+
+    private NoSuchElementException eventNotFound(Long eventId) {
+        return new NoSuchElementException("Event not found: " + eventId);
+    }
+
+    private IllegalStateException noSeatAvailable(Long eventId) {
+        return new IllegalStateException("No seat available for event: " + eventId);
+    }
 }
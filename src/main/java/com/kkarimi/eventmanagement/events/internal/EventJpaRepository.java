@@ -1,11 +1,16 @@
 package com.kkarimi.eventmanagement.events.internal;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 interface EventJpaRepository extends JpaRepository<EventJpaEntity, Long> {
@@ -13,4 +18,51 @@ interface EventJpaRepository extends JpaRepository<EventJpaEntity, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select e from EventJpaEntity e where e.id = :id")
     Optional<EventJpaEntity> findByIdForUpdate(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update EventJpaEntity e
+               set e.reservedSeats = e.reservedSeats + :seats,
+                   e.version = coalesce(e.version, 0) + 1,
+                   e.updatedAt = :updatedAt
+             where e.id = :id
+               and e.reservedSeats + :seats <= e.capacity
+            """)
+    int reserveSeatsIfAvailable(
+            @Param("id") Long id,
+            @Param("seats") int seats,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    List<EventJpaEntity> findAllByOrderByStartsAtAscIdAsc(Pageable pageable);
+
+    @Query("""
+            select e from EventJpaEntity e
+             where e.startsAt >= :from
+               and e.startsAt < :to
+               and e.reservedSeats < e.capacity
+             order by e.startsAt asc, e.id asc
+            """)
+    List<EventJpaEntity> findAvailableStartingBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("select e.startsAt from EventJpaEntity e where e.id = :id")
+    Optional<LocalDateTime> findStartsAtById(@Param("id") Long id);
+
+    @Query("select e.capacity from EventJpaEntity e where e.id = :id")
+    Optional<Integer> findCapacityById(@Param("id") Long id);
+
+    @Query("""
+            select e from EventJpaEntity e
+             where e.startsAt >= :startsAt
+               and (e.startsAt > :startsAt or e.id > :id)
+             order by e.startsAt asc, e.id asc
+            """)
+    List<EventJpaEntity> findAllAfter(
+            @Param("startsAt") LocalDateTime startsAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
 }
@@ -0,0 +1,79 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component(EventListCacheGeneration.KEY_GENERATOR)
+class EventListCacheGeneration implements KeyGenerator {
+
+    static final String KEY_GENERATOR = "eventListKeyGenerator";
+
+    private static final String GENERATION_KEY = "v2::eventList::generation";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean shared;
+    private final AtomicLong lastKnownGeneration = new AtomicLong();
+
+    EventListCacheGeneration(StringRedisTemplate redisTemplate, @Value("${spring.cache.type:redis}") String cacheType) {
+        this.redisTemplate = redisTemplate;
+        this.shared = "redis".equalsIgnoreCase(cacheType);
+    }
+
+    @Override
+    public Object generate(Object target, Method method, Object... params) {
+        return "g" + current() + "::" + StringUtils.arrayToCommaDelimitedString(params);
+    }
+
+    long current() {
+        if (!shared) {
+            return lastKnownGeneration.get();
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            long generation = value == null ? 0 : Long.parseLong(value);
+            lastKnownGeneration.set(generation);
+            return generation;
+        } catch (RuntimeException exception) {
+            log.warn("Could not read eventList cache generation; using last known value", exception);
+            return lastKnownGeneration.get();
+        }
+    }
+
+    void advanceAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance();
+            }
+        });
+    }
+
+    private void advance() {
+        if (!shared) {
+            lastKnownGeneration.incrementAndGet();
+            return;
+        }
+        try {
+            Long generation = redisTemplate.opsForValue().increment(GENERATION_KEY);
+            if (generation != null) {
+                lastKnownGeneration.set(generation);
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Could not advance eventList cache generation; cached pages stay until TTL expiry", exception);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import com.kkarimi.eventmanagement.config.MultiGetCache;
+import com.kkarimi.eventmanagement.events.Event;
+import com.kkarimi.eventmanagement.events.EventWindowQuery;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+@Slf4j
+@Component
+class EventWindowCache {
+
+    static final String CACHE_NAME = "eventWindow";
+
+    private final CacheManager cacheManager;
+    private final long bucketSeconds;
+
+    EventWindowCache(CacheManager cacheManager, @Value("${app.events.window.bucket-size:1h}") Duration bucketSize) {
+        if (bucketSize.toSeconds() <= 0) {
+            throw new IllegalArgumentException("app.events.window.bucket-size must be at least one second");
+        }
+        this.cacheManager = cacheManager;
+        this.bucketSeconds = bucketSize.toSeconds();
+    }
+
+    List<Event> find(EventWindowQuery query, BiFunction<LocalDateTime, LocalDateTime, List<Event>> loader) {
+        long firstBucket = bucketOf(query.from());
+        long lastBucket = bucketOf(query.to().minusNanos(1));
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        Map<Long, List<Event>> buckets = new HashMap<>();
+        if (cache != null) {
+            buckets.putAll(cachedBuckets(cache, firstBucket, lastBucket));
+        }
+        long firstMissing = firstBucket;
+        while (firstMissing <= lastBucket && buckets.containsKey(firstMissing)) {
+            firstMissing++;
+        }
+        long lastMissing = lastBucket;
+        while (lastMissing >= firstMissing && buckets.containsKey(lastMissing)) {
+            lastMissing--;
+        }
+        if (firstMissing <= lastMissing) {
+            Map<Long, List<Event>> loaded = new HashMap<>();
+            for (long bucket = firstMissing; bucket <= lastMissing; bucket++) {
+                if (!buckets.containsKey(bucket)) {
+                    loaded.put(bucket, new ArrayList<>());
+                }
+            }
+            for (Event event : loader.apply(bucketStart(firstMissing), bucketStart(lastMissing + 1))) {
+                List<Event> bucket = loaded.get(bucketOf(event.startsAt()));
+                if (bucket != null) {
+                    bucket.add(event);
+                }
+            }
+            buckets.putAll(loaded);
+            if (cache != null) {
+                cacheBuckets(cache, loaded);
+            }
+        }
+
+        List<Event> events = new ArrayList<>();
+        for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            for (Event event : buckets.get(bucket)) {
+                if (!event.startsAt().isBefore(query.from()) && event.startsAt().isBefore(query.to())) {
+                    events.add(event);
+                }
+            }
+        }
+        return events;
+    }
+
+    void evictAfterCommit(LocalDateTime startsAt) {
+        String key = key(bucketOf(startsAt));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(key);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, List<Event>> cachedBuckets(Cache cache, long firstBucket, long lastBucket) {
+        Map<String, Long> bucketsByKey = new HashMap<>();
+        for (long bucket = firstBucket; bucket <= lastBucket; bucket++) {
+            bucketsByKey.put(key(bucket), bucket);
+        }
+        Map<Long, List<Event>> cached = new HashMap<>();
+        try {
+            MultiGetCache.getAll(cache, bucketsByKey.keySet())
+                    .forEach((key, events) -> cached.put(bucketsByKey.get(key), (List<Event>) events));
+        } catch (RuntimeException exception) {
+            log.warn("Cache multi-get failed for cache='{}'; loading {} buckets from the database",
+                    cache.getName(), bucketsByKey.size(), exception);
+        }
+        return cached;
+    }
+
+    private void cacheBuckets(Cache cache, Map<Long, List<Event>> buckets) {
+        Map<String, List<Event>> entries = new HashMap<>();
+        buckets.forEach((bucket, events) -> entries.put(key(bucket), events));
+        try {
+            MultiGetCache.putAll(cache, entries);
+        } catch (RuntimeException exception) {
+            log.warn("Cache multi-put failed for cache='{}'", cache.getName(), exception);
+        }
+    }
+
+    private void evict(String key) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.evict(key);
+        } catch (RuntimeException exception) {
+            log.warn("Could not evict eventWindow bucket '{}'; it stays until TTL expiry", key, exception);
+        }
+    }
+
+    private long bucketOf(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), bucketSeconds);
+    }
+
+    private LocalDateTime bucketStart(long bucket) {
+        return LocalDateTime.ofEpochSecond(bucket * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private String key(long bucket) {
+        return bucketSeconds + "s:" + bucket;
+    }
+}
@@ -0,0 +1,8 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+enum SeatReservationMode {
+
+    PESSIMISTIC_LOCK,
+
+    CONDITIONAL_UPDATE
+}
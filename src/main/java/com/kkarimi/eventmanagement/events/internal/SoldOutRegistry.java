@@ -0,0 +1,157 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Component
+class SoldOutRegistry {
+
+    static final String CHANNEL = "v2::events::sold-out";
+
+    private static final String SEPARATOR = "|";
+    private static final String SOLD_OUT = "S";
+    private static final String AVAILABLE = "A";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean shared;
+    private final long timeToLiveNanos;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<Long, Long> soldOutUntil = new ConcurrentHashMap<>();
+    private final Map<Long, Reopened> reopened = new ConcurrentHashMap<>();
+
+    SoldOutRegistry(
+            StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.cache.type:redis}") String cacheType,
+            @Value("${app.events.sold-out.time-to-live:5m}") Duration timeToLive
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.shared = "redis".equalsIgnoreCase(cacheType);
+        this.timeToLiveNanos = timeToLive.toNanos();
+
+        Gauge.builder("event.soldout.flagged", soldOutUntil, Map::size)
+                .description("Events currently flagged as sold out on this node")
+                .register(meterRegistry);
+    }
+
+    boolean isSoldOut(Long eventId) {
+        Long until = soldOutUntil.get(eventId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until >= 0) {
+            soldOutUntil.remove(eventId, until);
+            return false;
+        }
+        return true;
+    }
+
+    void markSoldOut(Long eventId, int capacity) {
+        markLocal(eventId);
+        publish(SOLD_OUT, eventId, capacity);
+    }
+
+    void markSoldOutAfterCommit(Long eventId, int capacity) {
+        afterCommit(() -> markSoldOut(eventId, capacity));
+    }
+
+    void clearAfterCommit(Long eventId, int capacity) {
+        afterCommit(() -> {
+            reopen(eventId, capacity);
+            publish(AVAILABLE, eventId, capacity);
+        });
+    }
+
+    void apply(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 4);
+        if (parts.length != 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+        Long eventId;
+        int capacity;
+        try {
+            eventId = Long.valueOf(parts[2]);
+            capacity = Integer.parseInt(parts[3]);
+        } catch (NumberFormatException exception) {
+            log.warn("Ignoring malformed sold-out message: {}", message);
+            return;
+        }
+        switch (parts[1]) {
+            case SOLD_OUT -> {
+                if (!isStale(eventId, capacity)) {
+                    markLocal(eventId);
+                }
+            }
+            case AVAILABLE -> reopen(eventId, capacity);
+            default -> log.warn("Ignoring unknown sold-out message: {}", message);
+        }
+    }
+
+    private void markLocal(Long eventId) {
+        soldOutUntil.put(eventId, System.nanoTime() + timeToLiveNanos);
+    }
+
+    private void reopen(Long eventId, int capacity) {
+        long now = System.nanoTime();
+        soldOutUntil.remove(eventId);
+        reopened.values().removeIf(entry -> now - entry.until() >= 0);
+        reopened.merge(eventId, new Reopened(capacity, now + timeToLiveNanos),
+                (previous, current) -> previous.capacity() > current.capacity()
+                        ? new Reopened(previous.capacity(), current.until())
+                        : current);
+    }
+
+    // A peer's flag taken at a lower capacity than the one this node saw the event re-opened at predates the
+    // re-open. Dropping a flag that was in fact current only costs the fast path; the reservation still fails.
+    private boolean isStale(Long eventId, int capacity) {
+        Reopened entry = reopened.get(eventId);
+        if (entry == null) {
+            return false;
+        }
+        if (System.nanoTime() - entry.until() >= 0) {
+            reopened.remove(eventId, entry);
+            return false;
+        }
+        return capacity < entry.capacity();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publish(String action, Long eventId, int capacity) {
+        if (!shared) {
+            return;
+        }
+        String message = String.join(SEPARATOR, nodeId, action, String.valueOf(eventId), String.valueOf(capacity));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (RuntimeException exception) {
+            log.warn("Could not broadcast sold-out change '{}'; peers rely on their own reservations and TTL", message, exception);
+        }
+    }
+
+    private record Reopened(int capacity, long until) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
+class SoldOutRegistryConfiguration {
+
+    @Bean
+    RedisMessageListenerContainer soldOutListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            SoldOutRegistry soldOutRegistry
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> soldOutRegistry.apply(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(SoldOutRegistry.CHANNEL)
+        );
+        return container;
+    }
+}
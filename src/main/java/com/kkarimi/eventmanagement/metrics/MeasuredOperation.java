@@ -9,9 +9,13 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 public @interface MeasuredOperation {
 
+    int NO_SQL_BUDGET = -1;
+
     String timer() default "";
 
     String successCounter() default "";
 
     String failureCounter() default "";
+
+    int sqlBudget() default NO_SQL_BUDGET;
 }
@@ -12,13 +12,33 @@ import org.springframework.stereotype.Component;
 class MetricsAspect {
 
     private final MeterRegistry meterRegistry;
+    private final SqlStatistics sqlStatistics;
+    private final SqlAccountingProperties sqlProperties;
 
-    MetricsAspect(MeterRegistry meterRegistry) {
+    MetricsAspect(MeterRegistry meterRegistry, SqlStatistics sqlStatistics, SqlAccountingProperties sqlProperties) {
         this.meterRegistry = meterRegistry;
+        this.sqlStatistics = sqlStatistics;
+        this.sqlProperties = sqlProperties;
     }
 
     @Around("@annotation(measuredOperation)")
     public Object measure(ProceedingJoinPoint joinPoint, MeasuredOperation measuredOperation) throws Throwable {
+        String operation = measuredOperation.timer().isBlank()
+                ? joinPoint.getSignature().toShortString()
+                : measuredOperation.timer();
+        SqlStatistics.Frame sqlFrame = sqlStatistics.open();
+        boolean completed = false;
+        try {
+            Object result = measureTimed(joinPoint, measuredOperation);
+            completed = true;
+            return result;
+        } finally {
+            int budget = sqlProperties.budgetFor(operation, measuredOperation.sqlBudget());
+            sqlStatistics.close(sqlFrame, SqlStatistics.OPERATION_SCOPE, operation, budget, completed);
+        }
+    }
+
+    private Object measureTimed(ProceedingJoinPoint joinPoint, MeasuredOperation measuredOperation) throws Throwable {
         Timer.Sample sample = null;
         if (!measuredOperation.timer().isBlank()) {
             sample = Timer.start(meterRegistry);
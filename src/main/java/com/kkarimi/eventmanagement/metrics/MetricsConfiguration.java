@@ -1,15 +1,33 @@
 package com.kkarimi.eventmanagement.metrics;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties(SqlAccountingProperties.class)
 class MetricsConfiguration {
 
     @Bean
     MeterRegistryCustomizer<MeterRegistry> metricsCommonTags() {
         return registry -> registry.config().commonTags("application", "event-management");
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+    static SqlAccountingDataSourcePostProcessor sqlAccountingDataSourcePostProcessor(
+            ObjectProvider<SqlStatistics> statistics
+    ) {
+        return new SqlAccountingDataSourcePostProcessor(statistics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+    SqlRequestAccountingFilter sqlRequestAccountingFilter(SqlStatistics statistics, SqlAccountingProperties properties) {
+        return new SqlRequestAccountingFilter(statistics, properties);
+    }
 }
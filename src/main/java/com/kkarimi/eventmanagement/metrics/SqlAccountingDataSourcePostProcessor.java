@@ -0,0 +1,69 @@
+package com.kkarimi.eventmanagement.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.List;
+
+class SqlAccountingDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String STARTED_AT = "sqlAccountingStartedAt";
+
+    private final ObjectProvider<SqlStatistics> statistics;
+
+    SqlAccountingDataSourcePostProcessor(ObjectProvider<SqlStatistics> statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new StatementListener())
+                .proxyResultSet()
+                .methodListener(new RowListener())
+                .build();
+    }
+
+    private final class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+            statistics.getObject().recordStatement(startedAt == null ? 0 : System.nanoTime() - startedAt);
+        }
+    }
+
+    private final class RowListener implements MethodExecutionListener {
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {
+        }
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (executionContext.getTarget() instanceof ResultSet
+                    && "next".equals(executionContext.getMethod().getName())
+                    && Boolean.TRUE.equals(executionContext.getResult())) {
+                statistics.getObject().recordRow();
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.kkarimi.eventmanagement.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.metrics.sql")
+record SqlAccountingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("LOG") BudgetEnforcement budgetEnforcement,
+        Map<String, Integer> budgets
+) {
+
+    enum BudgetEnforcement {
+        LOG,
+        FAIL
+    }
+
+    SqlAccountingProperties {
+        budgets = budgets == null ? Map.of() : Map.copyOf(budgets);
+    }
+
+    int budgetFor(String name) {
+        return budgetFor(name, MeasuredOperation.NO_SQL_BUDGET);
+    }
+
+    int budgetFor(String name, int defaultBudget) {
+        return budgets.getOrDefault(name, defaultBudget);
+    }
+}
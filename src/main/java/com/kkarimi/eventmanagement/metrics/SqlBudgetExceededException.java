@@ -0,0 +1,8 @@
+package com.kkarimi.eventmanagement.metrics;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String name, int statements, int budget) {
+        super("SQL budget exceeded for " + name + ": " + statements + " statements, budget " + budget);
+    }
+}
@@ -0,0 +1,45 @@
+package com.kkarimi.eventmanagement.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+class SqlRequestAccountingFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final SqlStatistics statistics;
+    private final SqlAccountingProperties properties;
+
+    SqlRequestAccountingFilter(SqlStatistics statistics, SqlAccountingProperties properties) {
+        this.statistics = statistics;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics.Frame frame = statistics.open();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            String endpoint = request.getMethod() + " " + endpointPattern(request);
+            statistics.close(frame, SqlStatistics.REQUEST_SCOPE, endpoint, properties.budgetFor(endpoint), completed);
+        }
+    }
+
+    private static String endpointPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED : pattern.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.kkarimi.eventmanagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+@Slf4j
+@Component
+class SqlStatistics {
+
+    static final String REQUEST_SCOPE = "request";
+    static final String OPERATION_SCOPE = "operation";
+
+    private final MeterRegistry meterRegistry;
+    private final SqlAccountingProperties properties;
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    SqlStatistics(MeterRegistry meterRegistry, SqlAccountingProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    Frame open() {
+        Frame frame = new Frame();
+        frames.get().push(frame);
+        return frame;
+    }
+
+    void close(Frame frame, String scope, String name, int budget, boolean enforceBudget) {
+        Deque<Frame> stack = frames.get();
+        stack.remove(frame);
+        if (stack.isEmpty()) {
+            frames.remove();
+        }
+
+        DistributionSummary.builder("sql.statements")
+                .description("JDBC round trips per " + scope)
+                .tags("scope", scope, "name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(frame.statements);
+        DistributionSummary.builder("sql.rows")
+                .description("Result set rows fetched per " + scope)
+                .tags("scope", scope, "name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(frame.rows);
+        Timer.builder("sql.time")
+                .description("Time spent executing JDBC statements per " + scope)
+                .tags("scope", scope, "name", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofNanos(frame.nanos));
+
+        if (!enforceBudget || budget < 0 || frame.statements <= budget) {
+            return;
+        }
+        // Operations close inside their transaction, so failing here rolls the work back. Requests close after
+        // the response has been written, so their budgets can only be logged.
+        if (OPERATION_SCOPE.equals(scope)
+                && properties.budgetEnforcement() == SqlAccountingProperties.BudgetEnforcement.FAIL) {
+            throw new SqlBudgetExceededException(name, frame.statements, budget);
+        }
+        log.warn("SQL budget exceeded for {} {}: {} statements (budget {}), {} rows, {} ms",
+                scope, name, frame.statements, budget, frame.rows, Duration.ofNanos(frame.nanos).toMillis());
+    }
+
+    void recordStatement(long elapsedNanos) {
+        Deque<Frame> stack = frames.get();
+        if (stack.isEmpty()) {
+            frames.remove();
+            return;
+        }
+        for (Frame frame : stack) {
+            frame.statements++;
+            frame.nanos += elapsedNanos;
+        }
+    }
+
+    void recordRow() {
+        Deque<Frame> stack = frames.get();
+        if (stack.isEmpty()) {
+            frames.remove();
+            return;
+        }
+        for (Frame frame : stack) {
+            frame.rows++;
+        }
+    }
+
+    static final class Frame {
+
+        private int statements;
+        private long rows;
+        private long nanos;
+
+        int statements() {
+            return statements;
+        }
+
+        long rows() {
+            return rows;
+        }
+    }
+}
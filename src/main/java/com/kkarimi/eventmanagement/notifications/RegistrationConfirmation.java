@@ -0,0 +1,4 @@
+package com.kkarimi.eventmanagement.notifications;
+
+public record RegistrationConfirmation(Long registrationId, Long eventId, Long attendeeId) {
+}
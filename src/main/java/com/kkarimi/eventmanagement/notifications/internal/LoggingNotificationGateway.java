@@ -1,9 +1,10 @@
 package com.kkarimi.eventmanagement.notifications.internal;
 
 import com.kkarimi.eventmanagement.notifications.NotificationGateway;
-import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.notifications.RegistrationConfirmation;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -11,13 +12,14 @@ import org.springframework.stereotype.Service;
 class LoggingNotificationGateway implements NotificationGateway {
 
     @Override
+    @Async("notificationsExecutor")
     @CircuitBreaker(name = "notificationService", fallbackMethod = "fallbackSendRegistrationConfirmation")
-    public void sendRegistrationConfirmation(Registration registration) {
+    public void sendRegistrationConfirmation(RegistrationConfirmation confirmation) {
         // External-call boundary placeholder: replace this with HTTP/email provider call.
-        log.info("Confirmation sent for registration {}", registration.id());
+        log.info("Confirmation sent for registration {}", confirmation.registrationId());
     }
 
-    void fallbackSendRegistrationConfirmation(Registration registration, Throwable throwable) {
-        log.warn("Notification fallback for registration {} due to: {}", registration.id(), throwable.getMessage());
+    void fallbackSendRegistrationConfirmation(RegistrationConfirmation confirmation, Throwable throwable) {
+        log.warn("Notification fallback for registration {} due to: {}", confirmation.registrationId(), throwable.getMessage());
     }
 }
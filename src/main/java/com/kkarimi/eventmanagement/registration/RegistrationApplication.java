@@ -2,10 +2,25 @@ package com.kkarimi.eventmanagement.registration;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface RegistrationApplication {
 
     Registration register(RegistrationCommand command);
 
+    List<RegistrationResult> registerAll(List<RegistrationCommand> commands);
+
+    boolean isRegistered(Long eventId, Long attendeeId);
+
+    long countByEvent(Long eventId);
+
     Page<Registration> findAll(Pageable pageable);
+
+    Window<Registration> findAll(ScrollPosition position, int size);
+
+    void exportAll(RegistrationExportQuery query, Consumer<Registration> sink);
 }
@@ -0,0 +1,12 @@
+package com.kkarimi.eventmanagement.registration;
+
+import java.time.Instant;
+
+public record RegistrationExportQuery(Long eventId, Instant from, Instant to) {
+
+    public RegistrationExportQuery {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Export range 'from' must be before 'to'");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.kkarimi.eventmanagement.registration;
+
+public record RegistrationResult(
+        Long eventId,
+        Long attendeeId,
+        RegistrationStatus status,
+        Registration registration,
+        String message
+) {
+
+    public static RegistrationResult registered(Registration registration) {
+        return new RegistrationResult(
+                registration.eventId(),
+                registration.attendeeId(),
+                RegistrationStatus.REGISTERED,
+                registration,
+                null
+        );
+    }
+
+    public static RegistrationResult rejected(Long eventId, Long attendeeId, RegistrationStatus status, String message) {
+        return new RegistrationResult(eventId, attendeeId, status, null, message);
+    }
+}
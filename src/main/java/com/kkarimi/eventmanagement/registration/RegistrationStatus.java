@@ -0,0 +1,8 @@
+package com.kkarimi.eventmanagement.registration;
+
+public enum RegistrationStatus {
+    REGISTERED,
+    NOT_FOUND,
+    DUPLICATE_REGISTRATION,
+    NO_SEAT_AVAILABLE
+}
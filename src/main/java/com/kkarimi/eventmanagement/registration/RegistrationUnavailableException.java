@@ -0,0 +1,8 @@
+package com.kkarimi.eventmanagement.registration;
+
+public class RegistrationUnavailableException extends RuntimeException {
+
+    public RegistrationUnavailableException(String message) {
+        super(message);
+    }
+}
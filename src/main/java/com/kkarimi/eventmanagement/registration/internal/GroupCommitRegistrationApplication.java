@@ -0,0 +1,105 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.metrics.MeasuredOperation;
+import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.registration.RegistrationApplication;
+import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationExportQuery;
+import com.kkarimi.eventmanagement.registration.RegistrationResult;
+import com.kkarimi.eventmanagement.registration.RegistrationUnavailableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+@Service
+@Primary
+@ConditionalOnProperty(name = "app.registration.group-commit.enabled", havingValue = "true")
+class GroupCommitRegistrationApplication implements RegistrationApplication {
+
+    private final EventCatalog eventCatalog;
+    private final RegistrationGroupCommitPipeline pipeline;
+    private final RegistrationApplicationService registrationService;
+    private final Duration submitTimeout;
+
+    GroupCommitRegistrationApplication(
+            EventCatalog eventCatalog,
+            RegistrationGroupCommitPipeline pipeline,
+            RegistrationApplicationService registrationService,
+            @Value("${app.registration.group-commit.submit-timeout:10s}") Duration submitTimeout
+    ) {
+        this.eventCatalog = eventCatalog;
+        this.pipeline = pipeline;
+        this.registrationService = registrationService;
+        this.submitTimeout = submitTimeout;
+    }
+
+    @Override
+    @MeasuredOperation(
+            timer = "registration.process.duration",
+            successCounter = "registration.created.total",
+            failureCounter = "registration.failed.total"
+    )
+    public Registration register(RegistrationCommand command) {
+        if (eventCatalog.isSoldOut(command.eventId())) {
+            throw new IllegalStateException("No seat available for event: " + command.eventId());
+        }
+        try {
+            return pipeline.submit(command)
+                    .orTimeout(submitTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof TimeoutException) {
+                throw new RegistrationUnavailableException(
+                        "Registration for event " + command.eventId() + " did not complete within " + submitTimeout
+                );
+            }
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public List<RegistrationResult> registerAll(List<RegistrationCommand> commands) {
+        return registrationService.registerAll(commands);
+    }
+
+    @Override
+    public boolean isRegistered(Long eventId, Long attendeeId) {
+        return registrationService.isRegistered(eventId, attendeeId);
+    }
+
+    @Override
+    public long countByEvent(Long eventId) {
+        return registrationService.countByEvent(eventId);
+    }
+
+    @Override
+    public Page<Registration> findAll(Pageable pageable) {
+        return registrationService.findAll(pageable);
+    }
+
+    @Override
+    public Window<Registration> findAll(ScrollPosition position, int size) {
+        return registrationService.findAll(position, size);
+    }
+
+    @Override
+    public void exportAll(RegistrationExportQuery query, Consumer<Registration> sink) {
+        registrationService.exportAll(query, sink);
+    }
+}
@@ -5,45 +5,75 @@ import com.kkarimi.eventmanagement.eventhistory.TrackEventHistory;
 import com.kkarimi.eventmanagement.events.EventCatalog;
 import com.kkarimi.eventmanagement.metrics.MeasuredOperation;
 import com.kkarimi.eventmanagement.notifications.NotificationGateway;
+import com.kkarimi.eventmanagement.notifications.RegistrationConfirmation;
 import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
 import com.kkarimi.eventmanagement.registration.Registration;
 import com.kkarimi.eventmanagement.registration.RegistrationApplication;
 import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationExportQuery;
+import com.kkarimi.eventmanagement.registration.RegistrationResult;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 class RegistrationApplicationService implements RegistrationApplication {
 
+    private static final String REGISTERED_AT_KEY = "registeredAt";
+    private static final String ID_KEY = "id";
+
     private final EventCatalog eventCatalog;
     private final AttendeeDirectory attendeeDirectory;
     private final NotificationGateway notificationGateway;
     private final RegistrationJpaRepository repository;
     private final RegistrationMapper mapper;
+    private final RegistrationBatchWriter batchWriter;
+    private final EntityManager entityManager;
+    private final RegistrationBitmapIndex bitmapIndex;
 
     @Override
     @Transactional
     @MeasuredOperation(
             timer = "registration.process.duration",
             successCounter = "registration.created.total",
-            failureCounter = "registration.failed.total"
+            failureCounter = "registration.failed.total",
+            sqlBudget = 8
     )
-    @TrackEventHistory(module = "registration", action = "create", entity = "registration")
+    @TrackEventHistory(module = "registration", action = "create", entity = "registration", entityId = "#result?.id()")
     public Registration register(RegistrationCommand command) {
+        if (eventCatalog.isSoldOut(command.eventId())) {
+            throw new IllegalStateException("No seat available for event: " + command.eventId());
+        }
+
         eventCatalog.findById(command.eventId())
                 .orElseThrow(() -> new NoSuchElementException("Event not found: " + command.eventId()));
 
         attendeeDirectory.findById(command.attendeeId())
                 .orElseThrow(() -> new NoSuchElementException("Attendee not found: " + command.attendeeId()));
 
-        if (repository.existsByEventIdAndAttendeeId(command.eventId(), command.attendeeId())) {
+        if (isRegistered(command.eventId(), command.attendeeId())) {
             throw new DuplicateRegistrationException(command.eventId(), command.attendeeId());
         }
 
@@ -55,13 +85,135 @@ class RegistrationApplicationService implements RegistrationApplication {
                 command.attendeeId(),
                 Instant.now()
         );
-        Registration persistedRegistration = mapper.toModel(repository.save(mapper.toEntity(registration)));
-        notificationGateway.sendRegistrationConfirmation(persistedRegistration);
+        RegistrationJpaEntity persistedEntity;
+        try {
+            persistedEntity = repository.saveAndFlush(mapper.toEntity(registration));
+        } catch (DataIntegrityViolationException exception) {
+            throw new DuplicateRegistrationException(command.eventId(), command.attendeeId());
+        }
+        bitmapIndex.addAfterCommit(command.eventId(), List.of(command.attendeeId()));
+        Registration persistedRegistration = mapper.toModel(persistedEntity);
+        notificationGateway.sendRegistrationConfirmation(confirmation(persistedRegistration));
         return persistedRegistration;
     }
 
+    @Override
+    @MeasuredOperation(
+            timer = "registration.bulk.duration",
+            successCounter = "registration.bulk.total",
+            failureCounter = "registration.bulk.failed.total"
+    )
+    public List<RegistrationResult> registerAll(List<RegistrationCommand> commands) {
+        Map<Long, List<Integer>> indexesByEvent = new TreeMap<>();
+        for (int index = 0; index < commands.size(); index++) {
+            indexesByEvent.computeIfAbsent(commands.get(index).eventId(), eventId -> new ArrayList<>()).add(index);
+        }
+
+        RegistrationResult[] results = new RegistrationResult[commands.size()];
+        indexesByEvent.forEach((eventId, indexes) -> {
+            List<Long> attendeeIds = indexes.stream().map(index -> commands.get(index).attendeeId()).toList();
+            List<RegistrationAttempt> attempts = writeGroup(eventId, attendeeIds);
+            List<Registration> registered = new ArrayList<>();
+            for (int position = 0; position < indexes.size(); position++) {
+                RegistrationAttempt attempt = attempts.get(position);
+                results[indexes.get(position)] = attempt.toResult(eventId);
+                if (attempt.isSuccessful()) {
+                    registered.add(attempt.registration());
+                }
+            }
+            sendConfirmationsAfterCommit(registered);
+        });
+        return Arrays.asList(results);
+    }
+
+    // Each event group commits in its own transaction; a unique-key race in one group is retried per attendee
+    // instead of rolling back the whole request.
+    private List<RegistrationAttempt> writeGroup(Long eventId, List<Long> attendeeIds) {
+        try {
+            return batchWriter.write(eventId, attendeeIds);
+        } catch (DataIntegrityViolationException exception) {
+            return attendeeIds.stream().map(attendeeId -> writeOne(eventId, attendeeId)).toList();
+        }
+    }
+
+    private RegistrationAttempt writeOne(Long eventId, Long attendeeId) {
+        try {
+            return batchWriter.write(eventId, List.of(attendeeId)).getFirst();
+        } catch (DataIntegrityViolationException exception) {
+            return RegistrationAttempt.failed(attendeeId, new DuplicateRegistrationException(eventId, attendeeId));
+        }
+    }
+
+    private void sendConfirmationsAfterCommit(List<Registration> registered) {
+        if (registered.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            registered.forEach(registration -> notificationGateway.sendRegistrationConfirmation(confirmation(registration)));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                registered.forEach(registration -> notificationGateway.sendRegistrationConfirmation(confirmation(registration)));
+            }
+        });
+    }
+
+    @Override
+    public boolean isRegistered(Long eventId, Long attendeeId) {
+        if (bitmapIndex.isReady()) {
+            return bitmapIndex.contains(eventId, attendeeId);
+        }
+        return repository.existsByEventIdAndAttendeeId(eventId, attendeeId);
+    }
+
+    @Override
+    public long countByEvent(Long eventId) {
+        if (bitmapIndex.isReady()) {
+            return bitmapIndex.count(eventId);
+        }
+        return repository.countByEventId(eventId);
+    }
+
     @Override
     public Page<Registration> findAll(Pageable pageable) {
         return repository.findAll(pageable).map(mapper::toModel);
     }
+
+    @Override
+    public Window<Registration> findAll(ScrollPosition position, int size) {
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<RegistrationJpaEntity> rows;
+        if (position.isInitial()) {
+            rows = repository.findAllByOrderByRegisteredAtAscIdAsc(limit);
+        } else {
+            Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+            rows = repository.findAllAfter((Instant) keys.get(REGISTERED_AT_KEY), (Long) keys.get(ID_KEY), limit);
+        }
+        List<Registration> content = rows.stream().limit(size).map(mapper::toModel).toList();
+        return Window.from(content, index -> positionOf(content.get(index)), rows.size() > size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(RegistrationExportQuery query, Consumer<Registration> sink) {
+        try (Stream<RegistrationJpaEntity> rows = repository.streamAll(query.eventId(), query.from(), query.to())) {
+            rows.forEach(row -> {
+                entityManager.detach(row);
+                sink.accept(mapper.toModel(row));
+            });
+        }
+    }
+
+    private ScrollPosition positionOf(Registration registration) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(REGISTERED_AT_KEY, registration.registeredAt());
+        keys.put(ID_KEY, registration.id());
+        return ScrollPosition.forward(keys);
+    }
+
+    static RegistrationConfirmation confirmation(Registration registration) {
+        return new RegistrationConfirmation(registration.id(), registration.eventId(), registration.attendeeId());
+    }
 }
@@ -0,0 +1,36 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
+import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.registration.RegistrationResult;
+import com.kkarimi.eventmanagement.registration.RegistrationStatus;
+
+import java.util.NoSuchElementException;
+
+record RegistrationAttempt(Long attendeeId, Registration registration, RuntimeException failure) {
+
+    static RegistrationAttempt succeeded(Registration registration) {
+        return new RegistrationAttempt(registration.attendeeId(), registration, null);
+    }
+
+    static RegistrationAttempt failed(Long attendeeId, RuntimeException failure) {
+        return new RegistrationAttempt(attendeeId, null, failure);
+    }
+
+    boolean isSuccessful() {
+        return failure == null;
+    }
+
+    RegistrationResult toResult(Long eventId) {
+        if (isSuccessful()) {
+            return RegistrationResult.registered(registration);
+        }
+        RegistrationStatus status = switch (failure) {
+            case NoSuchElementException _ -> RegistrationStatus.NOT_FOUND;
+            case DuplicateRegistrationException _ -> RegistrationStatus.DUPLICATE_REGISTRATION;
+            case IllegalStateException _ -> RegistrationStatus.NO_SEAT_AVAILABLE;
+            default -> throw failure;
+        };
+        return RegistrationResult.rejected(eventId, attendeeId, status, failure.getMessage());
+    }
+}
@@ -0,0 +1,106 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import com.kkarimi.eventmanagement.attendees.Attendee;
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.eventhistory.TrackEventHistory;
+import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.metrics.MeasuredOperation;
+import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
+import com.kkarimi.eventmanagement.registration.Registration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+class RegistrationBatchWriter {
+
+    private final EventCatalog eventCatalog;
+    private final AttendeeDirectory attendeeDirectory;
+    private final RegistrationJpaRepository repository;
+    private final RegistrationMapper mapper;
+    private final RegistrationBitmapIndex bitmapIndex;
+
+    @Transactional
+    @MeasuredOperation(timer = "registration.batch.duration")
+    @TrackEventHistory(
+            module = "registration",
+            action = "create-batch",
+            entity = "registration",
+            payload = TrackEventHistory.PayloadPolicy.SUMMARY
+    )
+    public List<RegistrationAttempt> write(Long eventId, List<Long> attendeeIds) {
+        if (eventCatalog.isSoldOut(eventId)) {
+            return attendeeIds.stream()
+                    .map(attendeeId -> RegistrationAttempt.failed(attendeeId, noSeatAvailable(eventId)))
+                    .toList();
+        }
+        if (eventCatalog.findById(eventId).isEmpty()) {
+            return attendeeIds.stream()
+                    .map(attendeeId -> RegistrationAttempt.failed(
+                            attendeeId,
+                            new NoSuchElementException("Event not found: " + eventId)
+                    ))
+                    .toList();
+        }
+
+        RegistrationAttempt[] attempts = new RegistrationAttempt[attendeeIds.size()];
+        Set<Long> knownAttendeeIds = attendeeDirectory.findAllById(new HashSet<>(attendeeIds)).stream()
+                .map(Attendee::id)
+                .collect(Collectors.toSet());
+        Set<Long> claimedAttendeeIds = bitmapIndex.isReady()
+                ? attendeeIds.stream()
+                        .filter(attendeeId -> bitmapIndex.contains(eventId, attendeeId))
+                        .collect(Collectors.toCollection(HashSet::new))
+                : new HashSet<>(repository.findRegisteredAttendeeIds(eventId, attendeeIds));
+        List<Integer> candidates = new ArrayList<>();
+        for (int index = 0; index < attendeeIds.size(); index++) {
+            Long attendeeId = attendeeIds.get(index);
+            if (!knownAttendeeIds.contains(attendeeId)) {
+                attempts[index] = RegistrationAttempt.failed(
+                        attendeeId,
+                        new NoSuchElementException("Attendee not found: " + attendeeId)
+                );
+            } else if (!claimedAttendeeIds.add(attendeeId)) {
+                attempts[index] = RegistrationAttempt.failed(
+                        attendeeId,
+                        new DuplicateRegistrationException(eventId, attendeeId)
+                );
+            } else {
+                candidates.add(index);
+            }
+        }
+
+        int granted = candidates.isEmpty() ? 0 : eventCatalog.reserveSeats(eventId, candidates.size());
+        Instant registeredAt = Instant.now();
+        List<RegistrationJpaEntity> entities = new ArrayList<>(granted);
+        for (int candidate = 0; candidate < candidates.size(); candidate++) {
+            Long attendeeId = attendeeIds.get(candidates.get(candidate));
+            if (candidate < granted) {
+                entities.add(mapper.toEntity(new Registration(null, eventId, attendeeId, registeredAt)));
+            } else {
+                attempts[candidates.get(candidate)] = RegistrationAttempt.failed(attendeeId, noSeatAvailable(eventId));
+            }
+        }
+
+        List<RegistrationJpaEntity> persisted = repository.saveAllAndFlush(entities);
+        bitmapIndex.addAfterCommit(eventId, entities.stream().map(RegistrationJpaEntity::getAttendeeId).toList());
+        for (int candidate = 0; candidate < granted; candidate++) {
+            attempts[candidates.get(candidate)] = RegistrationAttempt.succeeded(mapper.toModel(persisted.get(candidate)));
+        }
+        return Arrays.asList(attempts);
+    }
+
+    private static IllegalStateException noSeatAvailable(Long eventId) {
+        return new IllegalStateException("No seat available for event: " + eventId);
+    }
+}
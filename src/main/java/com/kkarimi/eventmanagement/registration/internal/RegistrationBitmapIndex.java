@@ -0,0 +1,177 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+class RegistrationBitmapIndex {
+
+    private final RegistrationJpaRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final Duration refreshOverlap;
+    private final Map<Long, Roaring64NavigableMap> attendeesByEvent = new ConcurrentHashMap<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile boolean ready;
+    private volatile Instant loadedUntil;
+
+    RegistrationBitmapIndex(
+            RegistrationJpaRepository repository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.registration.bitmap-index.enabled:true}") boolean enabled,
+            @Value("${app.registration.bitmap-index.refresh-overlap:5m}") Duration refreshOverlap
+    ) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.refreshOverlap = refreshOverlap;
+
+        Gauge.builder("registration.index.events", attendeesByEvent, Map::size)
+                .description("Events held in the in-memory registration index")
+                .register(meterRegistry);
+        Gauge.builder("registration.index.entries", this, RegistrationBitmapIndex::entries)
+                .description("Registrations held in the in-memory registration index")
+                .register(meterRegistry);
+        Gauge.builder("registration.index.size", this, RegistrationBitmapIndex::sizeInBytes)
+                .description("Estimated heap footprint of the in-memory registration index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Instant loadingFrom = Instant.now();
+        load(null);
+        loadedUntil = loadingFrom;
+        ready = true;
+        log.info("Registration index built: {} registrations in {} events, ~{} bytes, {} ms",
+                entries(), attendeesByEvent.size(), sizeInBytes(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    @Async("cacheRefreshExecutor")
+    @Scheduled(
+            fixedDelayString = "${app.registration.bitmap-index.refresh-interval:30s}",
+            initialDelayString = "${app.registration.bitmap-index.refresh-interval:30s}"
+    )
+    public void refresh() {
+        if (!ready || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Instant loadingFrom = Instant.now();
+            load(loadedUntil.minus(refreshOverlap));
+            loadedUntil = loadingFrom;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    boolean contains(Long eventId, Long attendeeId) {
+        Roaring64NavigableMap attendees = attendeesByEvent.get(eventId);
+        if (attendees == null) {
+            return false;
+        }
+        synchronized (attendees) {
+            return attendees.contains(attendeeId);
+        }
+    }
+
+    long count(Long eventId) {
+        Roaring64NavigableMap attendees = attendeesByEvent.get(eventId);
+        if (attendees == null) {
+            return 0;
+        }
+        synchronized (attendees) {
+            return attendees.getLongCardinality();
+        }
+    }
+
+    void addAfterCommit(Long eventId, Collection<Long> attendeeIds) {
+        if (!enabled || attendeeIds.isEmpty()) {
+            return;
+        }
+        List<Long> committed = List.copyOf(attendeeIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.forEach(attendeeId -> add(eventId, attendeeId));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                committed.forEach(attendeeId -> add(eventId, attendeeId));
+            }
+        });
+    }
+
+    private void load(Instant registeredFrom) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = repository.streamEventAttendeePairs(registeredFrom)) {
+                rows.forEach(row -> add((Long) row[0], (Long) row[1]));
+            }
+        });
+        attendeesByEvent.values().forEach(attendees -> {
+            synchronized (attendees) {
+                attendees.runOptimize();
+            }
+        });
+    }
+
+    private void add(Long eventId, Long attendeeId) {
+        Roaring64NavigableMap attendees = attendeesByEvent.computeIfAbsent(eventId, ignored -> new Roaring64NavigableMap());
+        synchronized (attendees) {
+            attendees.addLong(attendeeId);
+        }
+    }
+
+    private double entries() {
+        long entries = 0;
+        for (Roaring64NavigableMap attendees : attendeesByEvent.values()) {
+            synchronized (attendees) {
+                entries += attendees.getLongCardinality();
+            }
+        }
+        return entries;
+    }
+
+    private double sizeInBytes() {
+        long bytes = 0;
+        for (Roaring64NavigableMap attendees : attendeesByEvent.values()) {
+            synchronized (attendees) {
+                bytes += attendees.getLongSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,189 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import com.kkarimi.eventmanagement.notifications.NotificationGateway;
+import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
+import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.registration.group-commit.enabled", havingValue = "true")
+class RegistrationGroupCommitPipeline implements DisposableBean {
+
+    private final RegistrationBatchWriter batchWriter;
+    private final NotificationGateway notificationGateway;
+    private final int maxBatchSize;
+    private final int laneCapacity;
+    private final ExecutorService executor;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    RegistrationGroupCommitPipeline(
+            RegistrationBatchWriter batchWriter,
+            NotificationGateway notificationGateway,
+            @Value("${app.registration.group-commit.max-batch-size:200}") int maxBatchSize,
+            @Value("${app.registration.group-commit.writer-threads:4}") int writerThreads,
+            @Value("${app.registration.group-commit.queue-capacity:1000}") int laneCapacity
+    ) {
+        this.batchWriter = batchWriter;
+        this.notificationGateway = notificationGateway;
+        this.maxBatchSize = maxBatchSize;
+        this.laneCapacity = laneCapacity;
+        this.executor = Executors.newFixedThreadPool(
+                writerThreads,
+                Thread.ofPlatform().name("registration-lane-", 0).daemon().factory()
+        );
+    }
+
+    CompletableFuture<Registration> submit(RegistrationCommand command) {
+        PendingRegistration pending = new PendingRegistration(command, new CompletableFuture<>());
+        AtomicBoolean queued = new AtomicBoolean();
+        Lane lane = lanes.compute(command.eventId(), (eventId, current) -> {
+            Lane target = current == null ? new Lane(eventId, laneCapacity) : current;
+            queued.set(target.queue.offer(pending));
+            return target;
+        });
+        if (!queued.get()) {
+            return CompletableFuture.failedFuture(new RegistrationUnavailableException(
+                    "Registration queue is full for event: " + command.eventId()
+            ));
+        }
+        schedule(lane);
+        return pending.future();
+    }
+
+    int laneCount() {
+        return lanes.size();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Registration lanes did not drain within 10s; remaining registrations are abandoned");
+        }
+    }
+
+    private void schedule(Lane lane) {
+        if (lane.draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(lane));
+            } catch (RejectedExecutionException exception) {
+                lane.draining.set(false);
+                RegistrationUnavailableException failure = new RegistrationUnavailableException(
+                        "Registration pipeline is not accepting work for event: " + lane.eventId
+                );
+                lane.poll(Integer.MAX_VALUE).forEach(pending -> pending.future().completeExceptionally(failure));
+                prune(lane);
+            }
+        }
+    }
+
+    private void prune(Lane lane) {
+        lanes.computeIfPresent(lane.eventId, (eventId, current) -> current.queue.isEmpty() ? null : current);
+    }
+
+    private void drain(Lane lane) {
+        try {
+            List<PendingRegistration> batch = lane.poll(maxBatchSize);
+            while (!batch.isEmpty()) {
+                commit(lane.eventId, batch);
+                batch = lane.poll(maxBatchSize);
+            }
+        } finally {
+            lane.draining.set(false);
+            if (lane.queue.isEmpty()) {
+                prune(lane);
+            } else {
+                schedule(lane);
+            }
+        }
+    }
+
+    private void commit(Long eventId, List<PendingRegistration> batch) {
+        // A caller that already gave up (timeout) must not get a seat it will retry for.
+        batch.removeIf(pending -> pending.future().isDone());
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<RegistrationAttempt> attempts;
+        try {
+            attempts = batchWriter.write(eventId, batch.stream().map(pending -> pending.command().attendeeId()).toList());
+        } catch (RuntimeException exception) {
+            log.warn("Group commit of {} registrations for event {} failed; retrying one by one",
+                    batch.size(), eventId, exception);
+            batch.forEach(this::commitIndividually);
+            return;
+        }
+        for (int index = 0; index < batch.size(); index++) {
+            complete(batch.get(index), attempts.get(index));
+        }
+    }
+
+    private void commitIndividually(PendingRegistration pending) {
+        RegistrationCommand command = pending.command();
+        try {
+            complete(pending, batchWriter.write(command.eventId(), List.of(command.attendeeId())).getFirst());
+        } catch (DataIntegrityViolationException exception) {
+            pending.future().completeExceptionally(
+                    new DuplicateRegistrationException(command.eventId(), command.attendeeId())
+            );
+        } catch (RuntimeException exception) {
+            pending.future().completeExceptionally(exception);
+        }
+    }
+
+    private void complete(PendingRegistration pending, RegistrationAttempt attempt) {
+        if (!attempt.isSuccessful()) {
+            pending.future().completeExceptionally(attempt.failure());
+            return;
+        }
+        pending.future().complete(attempt.registration());
+        notificationGateway.sendRegistrationConfirmation(RegistrationApplicationService.confirmation(attempt.registration()));
+    }
+
+    private record PendingRegistration(RegistrationCommand command, CompletableFuture<Registration> future) {
+    }
+
+    private static final class Lane {
+
+        private final Long eventId;
+        private final BlockingQueue<PendingRegistration> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Lane(Long eventId, int capacity) {
+            this.eventId = eventId;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+        }
+
+        private List<PendingRegistration> poll(int maxBatchSize) {
+            List<PendingRegistration> batch = new ArrayList<>();
+            PendingRegistration pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                if (!pending.future().isDone()) {
+                    batch.add(pending);
+                }
+            }
+            return batch;
+        }
+    }
+}
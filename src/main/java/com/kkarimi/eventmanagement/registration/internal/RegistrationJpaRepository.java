@@ -1,8 +1,69 @@
 package com.kkarimi.eventmanagement.registration.internal;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 interface RegistrationJpaRepository extends JpaRepository<RegistrationJpaEntity, Long> {
 
+    String EXPORT_FETCH_SIZE = "1000";
+
     boolean existsByEventIdAndAttendeeId(Long eventId, Long attendeeId);
+
+    long countByEventId(Long eventId);
+
+    @Query("select r.attendeeId from RegistrationJpaEntity r where r.eventId = :eventId and r.attendeeId in :attendeeIds")
+    Set<Long> findRegisteredAttendeeIds(
+            @Param("eventId") Long eventId,
+            @Param("attendeeIds") Collection<Long> attendeeIds
+    );
+
+    List<RegistrationJpaEntity> findAllByOrderByRegisteredAtAscIdAsc(Pageable pageable);
+
+    @Query("""
+            select r from RegistrationJpaEntity r
+             where r.registeredAt >= :registeredAt
+               and (r.registeredAt > :registeredAt or r.id > :id)
+             order by r.registeredAt asc, r.id asc
+            """)
+    List<RegistrationJpaEntity> findAllAfter(
+            @Param("registeredAt") Instant registeredAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select r from RegistrationJpaEntity r
+             where (:eventId is null or r.eventId = :eventId)
+               and (:from is null or r.registeredAt >= :from)
+               and (:to is null or r.registeredAt < :to)
+             order by r.registeredAt asc, r.id asc
+            """)
+    Stream<RegistrationJpaEntity> streamAll(
+            @Param("eventId") Long eventId,
+            @Param("from") Instant from,
+            @Param("to") Instant to
+    );
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            select r.eventId, r.attendeeId from RegistrationJpaEntity r
+             where (:registeredFrom is null or r.registeredAt >= :registeredFrom)
+            """)
+    Stream<Object[]> streamEventAttendeePairs(@Param("registeredFrom") Instant registeredFrom);
 }
@@ -1,5 +1,5 @@
 @org.springframework.modulith.ApplicationModule(
         displayName = "Registration",
-        allowedDependencies = {"events", "attendees", "notifications", "eventhistory"}
+        allowedDependencies = {"events", "attendees", "notifications", "eventhistory", "metrics"}
 )
 package com.kkarimi.eventmanagement.registration;
@@ -3,27 +3,46 @@ package com.kkarimi.eventmanagement.web;
 import com.kkarimi.eventmanagement.attendees.Attendee;
 import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
 import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
 @RestController
 @RequestMapping("/api/attendees")
 class AttendeeController {
 
+    private static final Map<String, Function<String, ?>> CURSOR_KEYS = Map.of(
+            "fullName", Function.identity(),
+            "id", Long::valueOf
+    );
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    static final int MAX_SEARCH_LIMIT = 50;
+
     private final AttendeeDirectory attendeeDirectory;
+    private final AttendeeImporter attendeeImporter;
 
-    AttendeeController(AttendeeDirectory attendeeDirectory) {
+    AttendeeController(AttendeeDirectory attendeeDirectory, AttendeeImporter attendeeImporter) {
         this.attendeeDirectory = attendeeDirectory;
+        this.attendeeImporter = attendeeImporter;
     }
 
     @PostMapping
@@ -32,11 +51,51 @@ class AttendeeController {
         return attendeeDirectory.register(new NewAttendeeCommand(request.fullName(), request.email()));
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    void importNdjson(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        importAttendees(AttendeeImporter.Format.NDJSON, request, response);
+    }
+
+    @PostMapping(path = "/import", consumes = TEXT_CSV_VALUE)
+    void importCsv(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        importAttendees(AttendeeImporter.Format.CSV, request, response);
+    }
+
     @GetMapping
     PageResponse<Attendee> list(@PageableDefault(size = 20, sort = "fullName") Pageable pageable) {
         return PageResponse.from(attendeeDirectory.findAll(pageable));
     }
 
+    @GetMapping("/search")
+    List<Attendee> search(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return attendeeDirectory.search(q, limit);
+    }
+
+    @GetMapping("/scroll")
+    CursorResponse<Attendee> scroll(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = KeysetCursor.requireSize(size);
+        return CursorResponse.from(
+                attendeeDirectory.findAll(KeysetCursor.decode(after, CURSOR_KEYS), pageSize),
+                pageSize
+        );
+    }
+
+    private void importAttendees(
+            AttendeeImporter.Format format,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        attendeeImporter.importAttendees(format, request.getInputStream(), response.getOutputStream());
+    }
+
     record CreateAttendeeRequest(@NotBlank String fullName, @NotBlank @Email String email) {
     }
 }
@@ -0,0 +1,225 @@
+package com.kkarimi.eventmanagement.web;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportRejection;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportResult;
+import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Slf4j
+@Component
+class AttendeeImporter {
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String FULL_NAME_COLUMN = "fullname";
+    private static final String EMAIL_COLUMN = "email";
+
+    private final AttendeeDirectory attendeeDirectory;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    AttendeeImporter(
+            AttendeeDirectory attendeeDirectory,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${app.attendees.import.chunk-size:1000}") int chunkSize
+    ) {
+        this.attendeeDirectory = attendeeDirectory;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    void importAttendees(Format format, InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        long lineNumber = 0;
+        int[] columns = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = csvColumns(line);
+                if (columns == null) {
+                    reject(writer, progress, lineNumber, "CSV header must contain fullName and email columns");
+                    break;
+                }
+                continue;
+            }
+            progress.rows++;
+
+            ImportRow row;
+            try {
+                row = format == Format.CSV ? csvRow(line, columns) : objectMapper.readValue(line, ImportRow.class);
+            } catch (JsonProcessingException | IllegalArgumentException exception) {
+                row = null;
+            }
+            if (row == null) {
+                reject(writer, progress, lineNumber, "Malformed row");
+                continue;
+            }
+            Set<ConstraintViolation<ImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<ImportRow> violation = violations.iterator().next();
+                reject(writer, progress, lineNumber, violation.getPropertyPath() + ": " + violation.getMessage());
+                continue;
+            }
+
+            chunk.add(new Row(lineNumber, new NewAttendeeCommand(row.fullName().trim(), row.email().trim())));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, writer, progress);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, writer, progress);
+        }
+        if (format == Format.CSV && columns == null && progress.rejected == 0) {
+            reject(writer, progress, 1, "Missing CSV header");
+        }
+        write(writer, ImportLine.summary(progress));
+        writer.flush();
+    }
+
+    private void importChunk(List<Row> chunk, Writer writer, Progress progress) throws IOException {
+        List<NewAttendeeCommand> commands = chunk.stream().map(Row::command).toList();
+        try {
+            AttendeeImportResult result = attendeeDirectory.importChunk(commands);
+            progress.imported += result.imported();
+            for (AttendeeImportRejection rejection : result.rejections()) {
+                reject(writer, progress, chunk.get(rejection.index()).lineNumber(), rejection.reason());
+            }
+        } catch (DataIntegrityViolationException exception) {
+            log.warn("Attendee import chunk of {} rows rolled back", chunk.size(), exception);
+            for (Row row : chunk) {
+                reject(writer, progress, row.lineNumber(), "Chunk rolled back by a concurrent insert; retry this row");
+            }
+        }
+        chunk.clear();
+        write(writer, ImportLine.progress(progress));
+        writer.flush();
+    }
+
+    private void reject(Writer writer, Progress progress, long lineNumber, String reason) throws IOException {
+        progress.rejected++;
+        write(writer, ImportLine.reject(lineNumber, reason));
+    }
+
+    private void write(Writer writer, ImportLine line) throws IOException {
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+
+    private static int[] csvColumns(String header) {
+        List<String> names;
+        try {
+            names = csvFields(header).stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        } catch (IllegalArgumentException exception) {
+            return null;
+        }
+        int fullName = names.indexOf(FULL_NAME_COLUMN);
+        int email = names.indexOf(EMAIL_COLUMN);
+        return fullName < 0 || email < 0 ? null : new int[] {fullName, email};
+    }
+
+    private static ImportRow csvRow(String line, int[] columns) {
+        List<String> fields = csvFields(line);
+        if (fields.size() <= Math.max(columns[0], columns[1])) {
+            throw new IllegalArgumentException("Missing columns");
+        }
+        return new ImportRow(fields.get(columns[0]), fields.get(columns[1]));
+    }
+
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < line.length(); index++) {
+            char current = line.charAt(index);
+            if (quoted) {
+                if (current == '"' && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    field.append('"');
+                    index++;
+                } else if (current == '"') {
+                    quoted = false;
+                } else {
+                    field.append(current);
+                }
+            } else if (current == '"') {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(current);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    record ImportRow(@NotBlank String fullName, @NotBlank @Email String email) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record ImportLine(String type, Long line, String reason, Long rows, Long imported, Long rejected) {
+
+        static ImportLine reject(long line, String reason) {
+            return new ImportLine("reject", line, reason, null, null, null);
+        }
+
+        static ImportLine progress(Progress progress) {
+            return new ImportLine("progress", null, null, progress.rows, progress.imported, progress.rejected);
+        }
+
+        static ImportLine summary(Progress progress) {
+            return new ImportLine("summary", null, null, progress.rows, progress.imported, progress.rejected);
+        }
+    }
+
+    private record Row(long lineNumber, NewAttendeeCommand command) {
+    }
+
+    private static final class Progress {
+
+        private long rows;
+        private long imported;
+        private long rejected;
+    }
+}
@@ -0,0 +1,19 @@
+package com.kkarimi.eventmanagement.web;
+
+import com.kkarimi.eventmanagement.registration.RegistrationResult;
+import com.kkarimi.eventmanagement.registration.RegistrationStatus;
+import java.util.List;
+
+record BatchRegistrationResponse(
+        int registered,
+        int rejected,
+        List<RegistrationResult> results
+) {
+
+    static BatchRegistrationResponse from(List<RegistrationResult> results) {
+        int registered = (int) results.stream()
+                .filter(result -> result.status() == RegistrationStatus.REGISTERED)
+                .count();
+        return new BatchRegistrationResponse(registered, results.size() - registered, results);
+    }
+}
@@ -0,0 +1,20 @@
+package com.kkarimi.eventmanagement.web;
+
+import java.util.List;
+import org.springframework.data.domain.Window;
+
+record CursorResponse<T>(
+        List<T> content,
+        int size,
+        int numberOfElements,
+        boolean hasNext,
+        String next
+) {
+
+    static <T> CursorResponse<T> from(Window<T> window, int size) {
+        String next = window.hasNext() && !window.isEmpty()
+                ? KeysetCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        return new CursorResponse<>(window.getContent(), size, window.size(), window.hasNext(), next);
+    }
+}
@@ -14,7 +14,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 20)
@@ -43,19 +43,11 @@ class CustomerApiRateLimitFilter extends OncePerRequestFilter {
         String key = resolveClientKey(request);
         WindowCounter counter = counters.computeIfAbsent(key, ignored -> new WindowCounter(System.currentTimeMillis()));
 
-        long now = System.currentTimeMillis();
-        synchronized (counter) {
-            if (now - counter.windowStartMillis >= WINDOW.toMillis()) {
-                counter.windowStartMillis = now;
-                counter.count.set(0);
-            }
-
-            if (counter.count.incrementAndGet() > requestsPerMinute) {
-                response.setStatus(TOO_MANY_REQUESTS_STATUS);
-                response.setContentType("application/json");
-                response.getWriter().write(TOO_MANY_REQUESTS_BODY);
-                return;
-            }
+        if (counter.increment(System.currentTimeMillis()) > requestsPerMinute) {
+            response.setStatus(TOO_MANY_REQUESTS_STATUS);
+            response.setContentType("application/json");
+            response.getWriter().write(TOO_MANY_REQUESTS_BODY);
+            return;
         }
 
         filterChain.doFilter(request, response);
@@ -73,12 +65,22 @@ class CustomerApiRateLimitFilter extends OncePerRequestFilter {
         return request.getRemoteAddr();
     }
 
-    private static final class WindowCounter {
-        private long windowStartMillis;
-        private final AtomicInteger count = new AtomicInteger();
+    static final class WindowCounter {
+        // Start and count change together in one CAS, so no increment can land between a window reset and its count.
+        private final AtomicReference<Window> window;
+
+        WindowCounter(long windowStartMillis) {
+            this.window = new AtomicReference<>(new Window(windowStartMillis, 0));
+        }
 
-        private WindowCounter(long windowStartMillis) {
-            this.windowStartMillis = windowStartMillis;
+        int increment(long now) {
+            return window.updateAndGet(current -> now - current.startMillis() >= WINDOW.toMillis()
+                    ? new Window(now, 1)
+                    : new Window(current.startMillis(), current.count() + 1)
+            ).count();
         }
     }
+
+    private record Window(long startMillis, int count) {
+    }
 }
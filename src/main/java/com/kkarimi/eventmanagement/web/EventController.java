@@ -2,6 +2,7 @@ package com.kkarimi.eventmanagement.web;
 
 import com.kkarimi.eventmanagement.events.Event;
 import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.events.EventWindowQuery;
 import com.kkarimi.eventmanagement.events.NewEventCommand;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
@@ -14,18 +15,31 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/events")
 class EventController {
 
+    private static final Map<String, Function<String, ?>> CURSOR_KEYS = Map.of(
+            "startsAt", LocalDateTime::parse,
+            "id", Long::valueOf
+    );
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofDays(7);
+
     private final EventCatalog eventCatalog;
 
     EventController(EventCatalog eventCatalog) {
@@ -44,15 +58,42 @@ class EventController {
                 .orElseThrow(() -> new NoSuchElementException("Event not found: " + eventId));
     }
 
+    @PutMapping("/{eventId}/capacity")
+    Event changeCapacity(@PathVariable Long eventId, @Valid @RequestBody ChangeCapacityRequest request) {
+        return eventCatalog.changeCapacity(eventId, request.capacity());
+    }
+
+    @GetMapping("/available")
+    List<Event> available(
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to
+    ) {
+        LocalDateTime windowFrom = from == null ? LocalDateTime.now() : from;
+        LocalDateTime windowTo = to == null ? windowFrom.plus(DEFAULT_WINDOW) : to;
+        return eventCatalog.findAvailable(new EventWindowQuery(windowFrom, windowTo));
+    }
+
     @GetMapping
     PageResponse<Event> list(@PageableDefault(size = 20, sort = "startsAt") Pageable pageable) {
         return PageResponse.from(eventCatalog.findAll(pageable));
     }
 
+    @GetMapping("/scroll")
+    CursorResponse<Event> scroll(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = KeysetCursor.requireSize(size);
+        return CursorResponse.from(eventCatalog.findAll(KeysetCursor.decode(after, CURSOR_KEYS), pageSize), pageSize);
+    }
+
     record CreateEventRequest(
             @NotBlank String title,
             @NotNull @Future LocalDateTime startsAt,
             @Min(1) int capacity
     ) {
     }
+
+    record ChangeCapacityRequest(@Min(1) int capacity) {
+    }
 }
@@ -1,7 +1,9 @@
 package com.kkarimi.eventmanagement.web;
 
+import com.kkarimi.eventmanagement.attendees.AttendeeSearchUnavailableException;
 import com.kkarimi.eventmanagement.attendees.DuplicateAttendeeException;
 import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
+import com.kkarimi.eventmanagement.registration.RegistrationUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import java.util.NoSuchElementException;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +32,18 @@ class GlobalExceptionHandler {
                 .body(new ApiErrorResponse("DUPLICATE_REGISTRATION", exception.getMessage()));
     }
 
+    @ExceptionHandler(AttendeeSearchUnavailableException.class)
+    ResponseEntity<ApiErrorResponse> handleSearchUnavailable(AttendeeSearchUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiErrorResponse("SERVICE_UNAVAILABLE", exception.getMessage()));
+    }
+
+    @ExceptionHandler(RegistrationUnavailableException.class)
+    ResponseEntity<ApiErrorResponse> handleRegistrationUnavailable(RegistrationUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiErrorResponse("SERVICE_UNAVAILABLE", exception.getMessage()));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     ResponseEntity<ApiErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException exception) {
         return ResponseEntity.status(HttpStatus.CONFLICT)
@@ -0,0 +1,50 @@
+package com.kkarimi.eventmanagement.web;
+
+import com.kkarimi.eventmanagement.eventhistory.EventHistoryEntry;
+import com.kkarimi.eventmanagement.eventhistory.EventHistoryLog;
+import com.kkarimi.eventmanagement.eventhistory.EventHistoryQuery;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.function.Function;
+
+@RestController
+@RequestMapping("/api/history")
+class HistoryController {
+
+    private static final Map<String, Function<String, ?>> CURSOR_KEYS = Map.of(
+            "occurredAt", Instant::parse,
+            "id", Function.identity()
+    );
+
+    private final EventHistoryLog eventHistoryLog;
+
+    HistoryController(EventHistoryLog eventHistoryLog) {
+        this.eventHistoryLog = eventHistoryLog;
+    }
+
+    @GetMapping
+    CursorResponse<EventHistoryEntry> find(
+            @RequestParam(required = false) String module,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = KeysetCursor.requireSize(size);
+        return CursorResponse.from(
+                eventHistoryLog.find(
+                        new EventHistoryQuery(module, entity, entityId, from, to),
+                        KeysetCursor.decode(after, CURSOR_KEYS),
+                        pageSize
+                ),
+                pageSize
+        );
+    }
+}
@@ -0,0 +1,63 @@
+package com.kkarimi.eventmanagement.web;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class KeysetCursor {
+
+    static final int MAX_SIZE = 500;
+
+    private static final String PAIR_SEPARATOR = "&";
+    private static final String KEY_VALUE_SEPARATOR = "=";
+
+    private KeysetCursor() {
+    }
+
+    static String encode(ScrollPosition position) {
+        String raw = ((KeysetScrollPosition) position).getKeys().entrySet().stream()
+                .map(entry -> entry.getKey() + KEY_VALUE_SEPARATOR
+                        + URLEncoder.encode(String.valueOf(entry.getValue()), StandardCharsets.UTF_8))
+                .collect(Collectors.joining(PAIR_SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ScrollPosition decode(String token, Map<String, Function<String, ?>> keyParsers) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            for (String pair : raw.split(PAIR_SEPARATOR)) {
+                String[] keyValue = pair.split(KEY_VALUE_SEPARATOR, 2);
+                Function<String, ?> parser = keyParsers.get(keyValue[0]);
+                if (parser == null || keyValue.length != 2) {
+                    throw new IllegalArgumentException("Unexpected cursor key: " + keyValue[0]);
+                }
+                keys.put(keyValue[0], parser.apply(URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8)));
+            }
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, exception);
+        }
+        if (!keys.keySet().equals(keyParsers.keySet())) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    static int requireSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        return size;
+    }
+}
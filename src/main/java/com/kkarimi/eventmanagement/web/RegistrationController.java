@@ -3,26 +3,46 @@ package com.kkarimi.eventmanagement.web;
 import com.kkarimi.eventmanagement.registration.Registration;
 import com.kkarimi.eventmanagement.registration.RegistrationApplication;
 import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationExportQuery;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/registrations")
 class RegistrationController {
 
+    private static final Map<String, Function<String, ?>> CURSOR_KEYS = Map.of(
+            "registeredAt", Instant::parse,
+            "id", Long::valueOf
+    );
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final RegistrationApplication registrationApplication;
+    private final RegistrationExporter registrationExporter;
 
-    RegistrationController(RegistrationApplication registrationApplication) {
+    RegistrationController(RegistrationApplication registrationApplication, RegistrationExporter registrationExporter) {
         this.registrationApplication = registrationApplication;
+        this.registrationExporter = registrationExporter;
     }
 
     @PostMapping
@@ -31,11 +51,69 @@ class RegistrationController {
         return registrationApplication.register(new RegistrationCommand(request.eventId(), request.attendeeId()));
     }
 
+    @PostMapping("/batch")
+    BatchRegistrationResponse registerAll(@Valid @RequestBody CreateBatchRegistrationRequest request) {
+        List<RegistrationCommand> commands = request.registrations().stream()
+                .map(registration -> new RegistrationCommand(registration.eventId(), registration.attendeeId()))
+                .toList();
+        return BatchRegistrationResponse.from(registrationApplication.registerAll(commands));
+    }
+
     @GetMapping
     PageResponse<Registration> list(@PageableDefault(size = 20, sort = "registeredAt") Pageable pageable) {
         return PageResponse.from(registrationApplication.findAll(pageable));
     }
 
+    @GetMapping("/scroll")
+    CursorResponse<Registration> scroll(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        int pageSize = KeysetCursor.requireSize(size);
+        return CursorResponse.from(
+                registrationApplication.findAll(KeysetCursor.decode(after, CURSOR_KEYS), pageSize),
+                pageSize
+        );
+    }
+
+    @GetMapping("/count")
+    RegistrationCountResponse count(@RequestParam Long eventId) {
+        return new RegistrationCountResponse(eventId, registrationApplication.countByEvent(eventId));
+    }
+
+    @GetMapping("/exists")
+    RegistrationExistsResponse exists(@RequestParam Long eventId, @RequestParam Long attendeeId) {
+        return new RegistrationExistsResponse(eventId, attendeeId, registrationApplication.isRegistered(eventId, attendeeId));
+    }
+
+    @GetMapping("/export")
+    ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long eventId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to
+    ) {
+        RegistrationExporter.Format exportFormat = RegistrationExporter.Format.parse(format);
+        RegistrationExportQuery query = new RegistrationExportQuery(eventId, from, to);
+        MediaType contentType = exportFormat == RegistrationExporter.Format.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.APPLICATION_NDJSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(registrationExporter.export(exportFormat, query));
+    }
+
     record CreateRegistrationRequest(@NotNull Long eventId, @NotNull Long attendeeId) {
     }
+
+    record RegistrationCountResponse(Long eventId, long count) {
+    }
+
+    record RegistrationExistsResponse(Long eventId, Long attendeeId, boolean registered) {
+    }
+
+    record CreateBatchRegistrationRequest(
+            @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@NotNull @Valid CreateRegistrationRequest> registrations
+    ) {
+    }
 }
@@ -0,0 +1,84 @@
+package com.kkarimi.eventmanagement.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.registration.RegistrationApplication;
+import com.kkarimi.eventmanagement.registration.RegistrationExportQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@Component
+class RegistrationExporter {
+
+    enum Format {
+        NDJSON,
+        CSV;
+
+        static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported export format: " + value + ". Allowed values: csv, ndjson");
+        }
+    }
+
+    private static final String CSV_HEADER = "id,eventId,attendeeId,registeredAt";
+
+    private final RegistrationApplication registrationApplication;
+    private final ObjectMapper objectMapper;
+    private final int flushEvery;
+
+    RegistrationExporter(
+            RegistrationApplication registrationApplication,
+            ObjectMapper objectMapper,
+            @Value("${app.registration.export.flush-every:1000}") int flushEvery
+    ) {
+        this.registrationApplication = registrationApplication;
+        this.objectMapper = objectMapper;
+        this.flushEvery = flushEvery;
+    }
+
+    StreamingResponseBody export(Format format, RegistrationExportQuery query) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            long[] written = {0};
+            try {
+                registrationApplication.exportAll(query, registration -> {
+                    try {
+                        writer.write(format == Format.CSV ? csvLine(registration) : objectMapper.writeValueAsString(registration));
+                        writer.write('\n');
+                        if (++written[0] % flushEvery == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                });
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private static String csvLine(Registration registration) {
+        return registration.id() + ","
+                + registration.eventId() + ","
+                + registration.attendeeId() + ","
+                + registration.registeredAt();
+    }
+}
@@ -1,5 +1,5 @@
 @org.springframework.modulith.ApplicationModule(
         displayName = "Web",
-        allowedDependencies = {"events", "attendees", "registration"}
+        allowedDependencies = {"events", "attendees", "registration", "eventhistory"}
 )
 package com.kkarimi.eventmanagement.web;
@@ -1,13 +1,20 @@
 package com.kkarimi.eventmanagement.attendees.internal;
 
 import com.kkarimi.eventmanagement.attendees.Attendee;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportResult;
 import com.kkarimi.eventmanagement.attendees.DuplicateAttendeeException;
 import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import com.kkarimi.eventmanagement.eventhistory.EventHistoryRecordedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -16,10 +23,14 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +42,15 @@ class AttendeeDirectoryServiceTest {
     @Mock
     private AttendeeMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AttendeeSearchIndex searchIndex;
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
     @InjectMocks
     private AttendeeDirectoryService service;
 
@@ -41,7 +61,7 @@ class AttendeeDirectoryServiceTest {
         AttendeeJpaEntity entity = new AttendeeJpaEntity(id, command.fullName(), command.email());
         Attendee model = new Attendee(id, command.fullName(), command.email());
 
-        when(repository.existsByEmailIgnoreCase(command.email())).thenReturn(false);
+        when(repository.existsByEmailNormalized(command.email())).thenReturn(false);
         when(mapper.toEntity(any(NewAttendeeCommand.class))).thenReturn(entity);
         when(repository.save(entity)).thenReturn(entity);
         when(mapper.toModel(entity)).thenReturn(model);
@@ -51,10 +71,46 @@ class AttendeeDirectoryServiceTest {
         assertEquals(model, result);
     }
 
+    @Test
+    void importChunkShouldRejectExistingAndRepeatedEmailsWithOneLookup() {
+        List<NewAttendeeCommand> commands = List.of(
+                new NewAttendeeCommand("A", "a@example.com"),
+                new NewAttendeeCommand("B", "B@example.com"),
+                new NewAttendeeCommand("C", "c@example.com"),
+                new NewAttendeeCommand("A again", "A@EXAMPLE.COM")
+        );
+
+        when(repository.findExistingEmails(Set.of("a@example.com", "b@example.com", "c@example.com")))
+                .thenReturn(Set.of("b@example.com"));
+        when(mapper.toEntity(any(NewAttendeeCommand.class)))
+                .thenAnswer(inv -> {
+                    NewAttendeeCommand command = inv.getArgument(0);
+                    return new AttendeeJpaEntity(null, command.fullName(), command.email());
+                });
+
+        AttendeeImportResult result = service.importChunk(commands);
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(1, 3), result.rejections().stream().map(rejection -> rejection.index()).toList());
+        verify(repository).saveAll(anyList());
+        ArgumentCaptor<EventHistoryRecordedEvent> captor = ArgumentCaptor.forClass(EventHistoryRecordedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals("import-chunk", captor.getValue().action());
+        assertEquals("{\"imported\":2,\"rejected\":2}", captor.getValue().result());
+    }
+
     @Test
     void registerShouldFailWhenEmailAlreadyExists() {
         NewAttendeeCommand command = new NewAttendeeCommand("Karim", "karim@example.com");
-        when(repository.existsByEmailIgnoreCase(command.email())).thenReturn(true);
+        when(repository.existsByEmailNormalized(command.email())).thenReturn(true);
+
+        assertThrows(DuplicateAttendeeException.class, () -> service.register(command));
+    }
+
+    @Test
+    void registerShouldCheckDuplicatesAgainstNormalizedEmail() {
+        NewAttendeeCommand command = new NewAttendeeCommand("Karim", "Karim@Example.COM");
+        when(repository.existsByEmailNormalized("karim@example.com")).thenReturn(true);
 
         assertThrows(DuplicateAttendeeException.class, () -> service.register(command));
     }
@@ -64,7 +120,7 @@ class AttendeeDirectoryServiceTest {
         NewAttendeeCommand command = new NewAttendeeCommand("Karim", "karim@example.com");
         Long id = 1L;
         AttendeeJpaEntity entity = new AttendeeJpaEntity(id, command.fullName(), command.email());
-        when(repository.existsByEmailIgnoreCase(command.email())).thenReturn(false);
+        when(repository.existsByEmailNormalized(command.email())).thenReturn(false);
         when(mapper.toEntity(any(NewAttendeeCommand.class))).thenReturn(entity);
         when(repository.save(entity)).thenThrow(new DataIntegrityViolationException("duplicate"));
 
@@ -85,6 +141,23 @@ class AttendeeDirectoryServiceTest {
         assertEquals(Optional.of(model), result);
     }
 
+    @Test
+    void findAllByIdShouldQueryOnlyCacheMissesAndCacheLoadedAttendees() {
+        Attendee cachedModel = new Attendee(1L, "A", "a@example.com");
+        AttendeeJpaEntity entity = new AttendeeJpaEntity(2L, "B", "b@example.com");
+        Attendee loadedModel = new Attendee(2L, "B", "b@example.com");
+        cacheManager.getCache(AttendeeDirectoryService.ATTENDEE_BY_ID_CACHE).put(1L, cachedModel);
+
+        when(repository.findAllById(List.of(2L, 3L))).thenReturn(List.of(entity));
+        when(mapper.toModel(entity)).thenReturn(loadedModel);
+
+        List<Attendee> result = service.findAllById(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(cachedModel, loadedModel), result);
+        assertEquals(loadedModel, cacheManager.getCache(AttendeeDirectoryService.ATTENDEE_BY_ID_CACHE).get(2L).get());
+        assertNull(cacheManager.getCache(AttendeeDirectoryService.ATTENDEE_BY_ID_CACHE).get(3L));
+    }
+
     @Test
     void findAllShouldMapAllAttendees() {
         AttendeeJpaEntity e1 = new AttendeeJpaEntity(1L, "A", "a@example.com");
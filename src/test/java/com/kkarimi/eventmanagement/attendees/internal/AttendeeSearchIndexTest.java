@@ -0,0 +1,146 @@
+package com.kkarimi.eventmanagement.attendees.internal;
+
+import com.kkarimi.eventmanagement.attendees.Attendee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendeeSearchIndexTest {
+
+    @Mock
+    private AttendeeJpaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AttendeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new AttendeeSearchIndex(repository, transactionManager, meterRegistry, true, 2, 10, 1000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void buildShouldIndexNamesAndEmailsByPrefix() {
+        when(repository.streamSearchEntries()).thenReturn(Stream.of(
+                new Object[] {1L, "Karim Karimi", "karim@example.com"},
+                new Object[] {2L, "Sara Karimian", "sara.k@example.com"},
+                new Object[] {3L, "John Doe", "jdoe@example.com"}
+        ));
+
+        assertFalse(index.isReady());
+        index.build();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L, 2L), ids(index.search("kar", 10)));
+        assertEquals(List.of(2L), ids(index.search("Karimi sa", 10)));
+        assertEquals(List.of(3L), ids(index.search("jdoe", 10)));
+        assertEquals(List.of(), ids(index.search("xyz", 10)));
+        assertEquals(3.0, meterRegistry.get("attendees.search.index.entries").gauge().value());
+        assertTrue(meterRegistry.get("attendees.search.index.size").gauge().value() > 0);
+    }
+
+    @Test
+    void searchShouldRankExactNameMatchesFirstAndApplyLimit() {
+        when(repository.streamSearchEntries()).thenReturn(Stream.of(
+                new Object[] {1L, "Annabel Lee", "annabel@example.com"},
+                new Object[] {2L, "Ann Smith", "smith@example.com"},
+                new Object[] {3L, "Bob Stone", "ann.stone@example.com"}
+        ));
+        index.build();
+
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("ann", 10)));
+        assertEquals(List.of(2L), ids(index.search("ann", 1)));
+    }
+
+    @Test
+    void searchShouldRankExactNameMatchesBeyondTheCandidateCap() {
+        when(repository.streamSearchEntries()).thenReturn(Stream.concat(
+                LongStream.rangeClosed(1, 1500).mapToObj(id -> new Object[] {id, "Jonas " + id, "jonas" + id + "@example.com"}),
+                Stream.<Object[]>of(new Object[] {1501L, "Jo Late", "late@example.com"})
+        ));
+        index.build();
+
+        List<Long> found = ids(index.search("jo", 3));
+
+        assertEquals(3, found.size());
+        assertEquals(1501L, found.getFirst());
+    }
+
+    @Test
+    void searchShouldVerifyTermsLongerThanIndexedPrefixes() {
+        when(repository.streamSearchEntries()).thenReturn(Stream.of(
+                new Object[] {1L, "Christopherson", "c1@example.com"},
+                new Object[] {2L, "Christophe", "c2@example.com"}
+        ));
+        index.build();
+
+        assertEquals(List.of(1L), ids(index.search("christophers", 10)));
+    }
+
+    @Test
+    void addAfterCommitShouldApplyImmediatelyOutsideTransaction() {
+        when(repository.streamSearchEntries()).thenReturn(Stream.empty());
+        index.build();
+
+        index.addAfterCommit(List.of(new Attendee(7L, "New Person", "new@example.com")));
+
+        assertEquals(List.of(7L), ids(index.search("new pe", 10)));
+    }
+
+    @Test
+    void refreshShouldPickUpAttendeesCommittedElsewhere() {
+        when(repository.streamSearchEntries()).thenReturn(Stream.empty());
+        index.build();
+        when(repository.streamSearchEntriesUpdatedSince(any(Instant.class))).thenReturn(Stream.<Object[]>of(
+                new Object[] {8L, "Remote Person", "remote@example.com"}
+        ));
+
+        index.refresh();
+
+        assertEquals(List.of(8L), ids(index.search("remote", 10)));
+        verify(repository).streamSearchEntriesUpdatedSince(
+                argThat(since -> since.isBefore(Instant.now().minus(Duration.ofMinutes(4))))
+        );
+    }
+
+    @Test
+    void refreshShouldDoNothingBeforeBuild() {
+        index.refresh();
+
+        verify(repository, never()).streamSearchEntriesUpdatedSince(any());
+    }
+
+    @Test
+    void searchShouldRejectQueriesWithoutIndexableTerms() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("a", 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("  ", 10));
+    }
+
+    private static List<Long> ids(List<Attendee> attendees) {
+        return attendees.stream().map(Attendee::id).toList();
+    }
+}
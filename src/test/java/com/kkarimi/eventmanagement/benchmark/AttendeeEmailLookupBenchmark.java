@@ -0,0 +1,86 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.DuplicateAttendeeException;
+import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AttendeeEmailLookupBenchmark {
+
+    private static final int PROBES = 1000;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"10000", "100000", "1000000"})
+    private int attendees;
+
+    private ConfigurableApplicationContext context;
+    private AttendeeDirectory attendeeDirectory;
+    private final List<String> probeEmails = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        attendeeDirectory = context.getBean(AttendeeDirectory.class);
+        long existing = attendeeDirectory.findAll(PageRequest.of(0, 1)).getTotalElements();
+        long missing = Math.max(attendees - existing, PROBES);
+        String run = UUID.randomUUID().toString();
+        List<NewAttendeeCommand> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (long index = 0; index < missing; index++) {
+            String email = "growth-" + index + "-" + run + "@example.com";
+            if (index < PROBES) {
+                probeEmails.add(email.toUpperCase(Locale.ROOT));
+            }
+            chunk.add(new NewAttendeeCommand("Growth " + index, email));
+            if (chunk.size() == CHUNK_SIZE) {
+                attendeeDirectory.importChunk(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            attendeeDirectory.importChunk(chunk);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean rejectDuplicateEmail() {
+        String email = probeEmails.get(ThreadLocalRandom.current().nextInt(probeEmails.size()));
+        try {
+            attendeeDirectory.register(new NewAttendeeCommand("Duplicate", email));
+            return false;
+        } catch (DuplicateAttendeeException exception) {
+            return true;
+        }
+    }
+}
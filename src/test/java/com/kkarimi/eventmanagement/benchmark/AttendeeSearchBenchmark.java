@@ -0,0 +1,75 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+import com.kkarimi.eventmanagement.attendees.Attendee;
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AttendeeSearchBenchmark {
+
+    private static final int ATTENDEES = 100_000;
+    private static final int CHUNK_SIZE = 1000;
+    private static final String[] FIRST_NAMES = {"Karim", "Sara", "John", "Maryam", "Ali", "Anna", "Reza", "Laura"};
+    private static final String[] LAST_NAMES = {"Karimi", "Smith", "Ahmadi", "Stone", "Rostami", "Miller", "Hosseini"};
+
+    @Param({"ka", "sara", "john smi", "karimi@"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private AttendeeDirectory attendeeDirectory;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        attendeeDirectory = context.getBean(AttendeeDirectory.class);
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        List<NewAttendeeCommand> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int index = 0; index < ATTENDEES; index++) {
+            String firstName = FIRST_NAMES[ThreadLocalRandom.current().nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[ThreadLocalRandom.current().nextInt(LAST_NAMES.length)];
+            chunk.add(new NewAttendeeCommand(
+                    firstName + " " + lastName + " " + index,
+                    lastName.toLowerCase() + "." + index + "." + run + "@example.com"
+            ));
+            if (chunk.size() == CHUNK_SIZE) {
+                attendeeDirectory.importChunk(chunk);
+                chunk.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Attendee> search() {
+        return attendeeDirectory.search(query, 10);
+    }
+}
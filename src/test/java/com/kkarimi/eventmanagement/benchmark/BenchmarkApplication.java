@@ -0,0 +1,27 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+import com.kkarimi.eventmanagement.EventManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+    static ConfigurableApplicationContext startWeb(String... properties) {
+        return new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0")
+                .properties(properties)
+                .run();
+    }
+}
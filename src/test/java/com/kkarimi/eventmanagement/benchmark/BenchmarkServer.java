@@ -0,0 +1,11 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+public final class BenchmarkServer {
+
+    private BenchmarkServer() {
+    }
+
+    public static void main(String[] properties) {
+        BenchmarkApplication.startWeb(properties);
+    }
+}
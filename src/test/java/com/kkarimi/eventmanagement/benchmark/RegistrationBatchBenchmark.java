@@ -0,0 +1,89 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.events.NewEventCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationApplication;
+import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RegistrationBatchBenchmark {
+
+    @Param({"50", "500"})
+    private int groupSize;
+
+    private ConfigurableApplicationContext context;
+    private EventCatalog eventCatalog;
+    private RegistrationApplication registrationApplication;
+    private final List<Long> attendeeIds = new ArrayList<>();
+    private List<RegistrationCommand> commands;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        eventCatalog = context.getBean(EventCatalog.class);
+        registrationApplication = context.getBean(RegistrationApplication.class);
+        AttendeeDirectory attendeeDirectory = context.getBean(AttendeeDirectory.class);
+        String run = UUID.randomUUID().toString();
+        for (int index = 0; index < groupSize; index++) {
+            attendeeIds.add(attendeeDirectory.register(
+                    new NewAttendeeCommand("Benchmark " + index, "benchmark-" + index + "-" + run + "@example.com")
+            ).id());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void openEvent() {
+        Long eventId = eventCatalog.create(
+                new NewEventCommand("Benchmark event", LocalDateTime.now().plusDays(30), groupSize)
+        ).id();
+        commands = attendeeIds.stream()
+                .map(attendeeId -> new RegistrationCommand(eventId, attendeeId))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleItem(Blackhole blackhole) {
+        for (RegistrationCommand command : commands) {
+            blackhole.consume(registrationApplication.register(command));
+        }
+    }
+
+    @Benchmark
+    public List<RegistrationResult> batch() {
+        return registrationApplication.registerAll(commands);
+    }
+}
@@ -0,0 +1,88 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.events.NewEventCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationApplication;
+import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RegistrationLookupBenchmark {
+
+    private static final int ATTENDEES = 1000;
+
+    @Param({"true", "false"})
+    private boolean bitmapIndex;
+
+    private ConfigurableApplicationContext context;
+    private RegistrationApplication registrationApplication;
+    private Long eventId;
+    private final List<Long> attendeeIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("app.registration.bitmap-index.enabled=" + bitmapIndex);
+        registrationApplication = context.getBean(RegistrationApplication.class);
+        AttendeeDirectory attendeeDirectory = context.getBean(AttendeeDirectory.class);
+        eventId = context.getBean(EventCatalog.class)
+                .create(new NewEventCommand("Lookup benchmark", LocalDateTime.now().plusDays(30), ATTENDEES))
+                .id();
+        String run = UUID.randomUUID().toString();
+        List<RegistrationCommand> commands = new ArrayList<>();
+        for (int index = 0; index < ATTENDEES; index++) {
+            Long attendeeId = attendeeDirectory.register(
+                    new NewAttendeeCommand("Lookup " + index, "lookup-" + index + "-" + run + "@example.com")
+            ).id();
+            attendeeIds.add(attendeeId);
+            if (index % 2 == 0) {
+                commands.add(new RegistrationCommand(eventId, attendeeId));
+            }
+        }
+        registrationApplication.registerAll(commands);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean isRegistered() {
+        return registrationApplication.isRegistered(
+                eventId,
+                attendeeIds.get(ThreadLocalRandom.current().nextInt(attendeeIds.size()))
+        );
+    }
+
+    @Benchmark
+    public long countByEvent() {
+        return registrationApplication.countByEvent(eventId);
+    }
+}
@@ -0,0 +1,161 @@
+package com.kkarimi.eventmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(RequestThreadingBenchmark.CONCURRENT_CLIENTS)
+public class RequestThreadingBenchmark {
+
+    static final int CONCURRENT_CLIENTS = 2000;
+
+    private static final int PLATFORM_REQUEST_THREADS = 200;
+    private static final int HIKARI_POOL_SIZE = 20;
+
+    private static final Duration SERVER_STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Process server;
+    private String baseUrl;
+    private HttpClient client;
+    private HttpRequest eventsPage;
+    private HttpRequest eventById;
+    private HttpRequest eventHistory;
+
+    // The server runs in its own JVM so the thread and heap figures below exclude the JMH client threads.
+    @Setup(Level.Trial)
+    public void startServer() throws IOException, InterruptedException {
+        int port = freePort();
+        server = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx2g",
+                "-cp", System.getProperty("java.class.path"),
+                BenchmarkServer.class.getName(),
+                "server.port=" + port,
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "server.tomcat.threads.max=" + PLATFORM_REQUEST_THREADS,
+                "server.tomcat.accept-count=" + CONCURRENT_CLIENTS,
+                "spring.datasource.hikari.maximum-pool-size=" + HIKARI_POOL_SIZE,
+                "spring.datasource.hikari.minimum-idle=" + HIKARI_POOL_SIZE,
+                "app.cache.near.enabled=false"
+        )
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File("target/benchmark-server.log")))
+                .start();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        awaitServer();
+
+        HttpResponse<String> created = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/events"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("""
+                                {"title": "Threading benchmark", "startsAt": "%s", "capacity": 100}
+                                """.formatted(LocalDateTime.now().plusDays(30).withNano(0))))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        long eventId = objectMapper.readTree(created.body()).get("id").asLong();
+        eventsPage = HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/scroll?size=20")).build();
+        eventById = HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/" + eventId)).build();
+        eventHistory = HttpRequest.newBuilder(URI.create(baseUrl + "/api/history?entity=event&entityId=" + eventId + "&size=20")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopServer() throws IOException, InterruptedException {
+        try {
+            System.out.printf(
+                    "virtualThreads=%s serverPeakPlatformThreads=%.0f serverLivePlatformThreads=%.0f serverHeapUsedMb=%.0f%n",
+                    virtualThreads,
+                    serverMetric("jvm.threads.peak"),
+                    serverMetric("jvm.threads.live"),
+                    serverMetric("jvm.memory.used?tag=area:heap") / (1024 * 1024)
+            );
+        } finally {
+            client.close();
+            server.destroy();
+            server.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Benchmark
+    public int jdbcPage() throws IOException, InterruptedException {
+        return client.send(eventsPage, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int redisLookup() throws IOException, InterruptedException {
+        return client.send(eventById, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int mongoHistory() throws IOException, InterruptedException {
+        return client.send(eventHistory, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void awaitServer() throws InterruptedException {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        long deadline = System.nanoTime() + SERVER_STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Benchmark server exited with " + server.exitValue() + ", see target/benchmark-server.log");
+            }
+            try {
+                client.send(health, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException ex) {
+                Thread.sleep(500);
+            }
+        }
+        server.destroy();
+        throw new IllegalStateException("Benchmark server did not start within " + SERVER_STARTUP_TIMEOUT);
+    }
+
+    private double serverMetric(String metric) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).build(),
+                HttpResponse.BodyHandlers.ofString()
+        );
+        return objectMapper.readTree(response.body()).path("measurements").path(0).path("value").asDouble(Double.NaN);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
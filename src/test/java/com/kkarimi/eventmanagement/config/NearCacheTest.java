@@ -0,0 +1,75 @@
+package com.kkarimi.eventmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class NearCacheTest {
+
+    private Cache remote;
+    private NearCacheInvalidationPublisher invalidationPublisher;
+    private NearCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = spy(new ConcurrentMapCache("eventById"));
+        invalidationPublisher = mock(NearCacheInvalidationPublisher.class);
+        cache = new NearCache(remote, Caffeine.newBuilder().maximumSize(100).build(), invalidationPublisher);
+    }
+
+    @Test
+    void repeatedReadsShouldBeServedFromLocalTier() {
+        remote.put(1L, "event-1");
+
+        assertEquals("event-1", cache.get(1L).get());
+        assertEquals("event-1", cache.get(1L).get());
+
+        verify(remote, times(1)).get(1L);
+    }
+
+    @Test
+    void evictShouldDropBothTiersAndBroadcast() {
+        cache.put(1L, "event-1");
+
+        cache.evict(1L);
+
+        assertNull(cache.get(1L));
+        verify(invalidationPublisher).publishEvict("eventById", "1");
+    }
+
+    @Test
+    void getAllShouldServeLocalHitsAndFetchOnlyMissesFromRemote() {
+        cache.put(1L, "event-1");
+        remote.put(2L, "event-2");
+
+        Map<Long, Object> hits = cache.getAll(List.of(1L, 2L, 3L));
+
+        assertEquals(Map.of(1L, "event-1", 2L, "event-2"), hits);
+        verify(remote, never()).get(1L);
+        assertEquals("event-2", cache.get(2L).get());
+        verify(remote, times(1)).get(2L);
+    }
+
+    @Test
+    void remoteInvalidationShouldOnlyDropLocalTier() {
+        cache.put(1L, "event-1");
+
+        cache.evictLocal("1");
+
+        assertEquals("event-1", cache.get(1L).get());
+        verify(remote, times(1)).get(1L);
+    }
+}
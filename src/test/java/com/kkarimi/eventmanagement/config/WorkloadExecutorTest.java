@@ -0,0 +1,101 @@
+package com.kkarimi.eventmanagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkloadExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private WorkloadExecutor executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.destroy();
+    }
+
+    @Test
+    void shouldDiscardAndCountTasksBeyondPoolAndQueue() throws InterruptedException {
+        executor = executor(WorkloadExecutor.Mode.PLATFORM, 0, WorkloadExecutor.RejectionPolicy.DISCARD);
+        AtomicInteger completed = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+            completed.incrementAndGet();
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        executor.execute(completed::incrementAndGet);
+
+        assertEquals(1.0, meterRegistry.get("async.executor.rejected.total").tag("executor", "test").counter().count());
+        assertEquals(1.0, meterRegistry.get("async.executor.active").tag("executor", "test").gauge().value());
+        assertEquals(0.0, meterRegistry.get("async.executor.queue.depth").tag("executor", "test").gauge().value());
+
+        release.countDown();
+        executor.destroy();
+        assertEquals(1, completed.get());
+    }
+
+    @Test
+    void shouldRunRejectedTaskOnCallerThreadForBackpressure() throws InterruptedException {
+        executor = executor(WorkloadExecutor.Mode.PLATFORM, 1, WorkloadExecutor.RejectionPolicy.CALLER_RUNS);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Thread> rejectedRanOn = new AtomicReference<>();
+
+        executor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        executor.execute(() -> await(release));
+        executor.execute(() -> rejectedRanOn.set(Thread.currentThread()));
+
+        assertEquals(Thread.currentThread(), rejectedRanOn.get());
+        assertEquals(1.0, meterRegistry.get("async.executor.queue.depth").tag("executor", "test").gauge().value());
+        assertEquals(1.0, meterRegistry.get("async.executor.rejected.total").tag("executor", "test").counter().count());
+    }
+
+    @Test
+    void shouldBoundInFlightVirtualThreadTasks() throws InterruptedException {
+        executor = executor(WorkloadExecutor.Mode.VIRTUAL, 1, WorkloadExecutor.RejectionPolicy.ABORT);
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+
+        executor.execute(() -> {
+            ranOn.set(Thread.currentThread());
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        executor.execute(() -> await(release));
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+        assertTrue(ranOn.get().isVirtual());
+        assertEquals(1.0, meterRegistry.get("async.executor.rejected.total").tag("executor", "test").counter().count());
+    }
+
+    private WorkloadExecutor executor(WorkloadExecutor.Mode mode, int queueCapacity, WorkloadExecutor.RejectionPolicy policy) {
+        return new WorkloadExecutor("test", mode, 1, queueCapacity, policy, meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
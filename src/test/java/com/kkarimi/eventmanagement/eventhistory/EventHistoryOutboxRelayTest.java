@@ -0,0 +1,119 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistoryOutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EventHistoryStore store;
+
+    private EventHistoryOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new EventHistoryOutboxRelay(
+                jdbcTemplate,
+                transactionTemplate,
+                store,
+                new EventHistorySerializer(new ObjectMapper(), DataSize.ofKilobytes(16), DataSize.ofKilobytes(1)),
+                new SimpleMeterRegistry(),
+                100,
+                3
+        );
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRelayRowsAndDeleteContiguousRanges() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(100))).thenReturn(List.of(row(1), row(2), row(3), row(5)));
+
+        assertEquals(4, relay.relayBatch());
+
+        ArgumentCaptor<List<EventHistoryDocument>> documents = ArgumentCaptor.forClass(List.class);
+        verify(store).insertMany(documents.capture());
+        assertEquals(4, documents.getValue().size());
+        assertEquals(row(1).documentId().toHexString(), documents.getValue().getFirst().getId());
+        assertEquals(List.of(7), documents.getValue().getFirst().getPayload());
+
+        ArgumentCaptor<List<Object[]>> ranges = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), ranges.capture());
+        assertEquals(2, ranges.getValue().size());
+        assertArrayEquals(new Object[]{1L, 3L}, ranges.getValue().get(0));
+        assertArrayEquals(new Object[]{5L, 5L}, ranges.getValue().get(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldKeepRowsWhenMongoWriteFails() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(100))).thenReturn(List.of(row(1)));
+        doThrow(new IllegalStateException("mongo unavailable")).when(store).insertMany(anyList());
+
+        assertEquals(0, relay.relayBatch());
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldStopRelayRunAfterMaxBatches() {
+        List<EventHistoryOutboxRelay.OutboxRow> fullBatch = LongStream.rangeClosed(1, 100).mapToObj(EventHistoryOutboxRelayTest::row).toList();
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(100))).thenReturn(fullBatch);
+
+        relay.relay();
+
+        verify(store, times(3)).insertMany(anyList());
+    }
+
+    private static EventHistoryOutboxRelay.OutboxRow row(long id) {
+        return new EventHistoryOutboxRelay.OutboxRow(
+                id,
+                "events",
+                "reserve-seat",
+                "event",
+                "7",
+                null,
+                EventHistoryOutcome.SUCCESS,
+                Instant.parse("2026-03-01T10:00:00Z"),
+                "[7]",
+                null,
+                null
+        );
+    }
+}
@@ -0,0 +1,108 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistoryOutboxTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private EventHistoryOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new EventHistoryOutbox(jdbcTemplate, new EventHistorySerializer(new ObjectMapper(), DataSize.ofKilobytes(16), DataSize.ofKilobytes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.unbindResourceIfPossible(outbox);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldInsertCapturesOfOneTransactionInOneBatchBeforeCommit() throws SQLException {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertTrue(outbox.append(capture(EventHistoryOutcome.SUCCESS)));
+        assertTrue(outbox.append(capture(EventHistoryOutcome.SUCCESS)));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        ArgumentCaptor<Collection<EventHistoryCapture>> captor = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<EventHistoryCapture>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture(), eq(2), setter.capture());
+        assertEquals(2, captor.getValue().size());
+
+        PreparedStatement statement = mock(PreparedStatement.class);
+        setter.getValue().setValues(statement, captor.getValue().iterator().next());
+        verify(statement).setString(4, "1");
+        verify(statement).setString(8, "[1]");
+        verify(statement).setString(9, null);
+        verify(statement).setString(10, null);
+    }
+
+    @Test
+    void shouldLeaveFailuresAndNonTransactionalCallsToTheWriter() {
+        assertFalse(outbox.append(capture(EventHistoryOutcome.SUCCESS)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertFalse(outbox.append(capture(EventHistoryOutcome.FAILURE)));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    private static EventHistoryCapture capture(EventHistoryOutcome outcome) {
+        return new EventHistoryCapture(
+                "events",
+                "reserve-seat",
+                "event",
+                "#args[0]",
+                null,
+                outcome,
+                Instant.now(),
+                EventHistoryPayloadSpec.FULL,
+                new Object[]{1L},
+                null,
+                List.of()
+        );
+    }
+}
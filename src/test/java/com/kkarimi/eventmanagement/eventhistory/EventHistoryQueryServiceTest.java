@@ -0,0 +1,122 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistoryQueryServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private EventHistoryStore store;
+
+    @Spy
+    private EventHistorySerializer serializer = new EventHistorySerializer(
+            new ObjectMapper(),
+            DataSize.ofKilobytes(16),
+            DataSize.ofKilobytes(1)
+    );
+
+    @InjectMocks
+    private EventHistoryQueryService service;
+
+    @Test
+    void shouldSeekEntityTimelineByEntitiesIndex() {
+        String firstId = new ObjectId().toHexString();
+        String secondId = new ObjectId().toHexString();
+        when(mongoTemplate.find(any(Query.class), eq(EventHistoryDocument.class))).thenReturn(List.of(
+                document(firstId, "2026-03-01T10:00:00Z"),
+                document(secondId, "2026-03-01T09:00:00Z")
+        ));
+
+        Window<EventHistoryEntry> window = service.find(
+                new EventHistoryQuery(null, "event", "42", null, Instant.parse("2026-03-02T00:00:00Z")),
+                ScrollPosition.keyset(),
+                1
+        );
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(EventHistoryDocument.class));
+        Query query = captor.getValue();
+        assertEquals("idx_event_history_entities_occurred_at", query.getHint());
+        assertEquals(2, query.getLimit());
+        assertTrue(query.getQueryObject().toString().contains("$elemMatch"));
+        assertTrue(query.getQueryObject().toString().contains("entityId=42"));
+
+        assertEquals(1, window.size());
+        assertTrue(window.hasNext());
+        Map<String, Object> keys = ((KeysetScrollPosition) window.positionAt(0)).getKeys();
+        assertEquals(Instant.parse("2026-03-01T10:00:00Z"), keys.get("occurredAt"));
+        assertEquals(firstId, keys.get("id"));
+    }
+
+    @Test
+    void shouldContinueAfterCursorOnModuleEntityIndex() {
+        when(mongoTemplate.find(any(Query.class), eq(EventHistoryDocument.class))).thenReturn(List.of());
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("occurredAt", Instant.parse("2026-03-01T10:00:00Z"));
+        keys.put("id", new ObjectId().toHexString());
+
+        Window<EventHistoryEntry> window = service.find(
+                new EventHistoryQuery("events", "event", null, null, null),
+                ScrollPosition.forward(keys),
+                20
+        );
+
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(captor.capture(), eq(EventHistoryDocument.class));
+        assertEquals("idx_event_history_module_entity_occurred_at", captor.getValue().getHint());
+        assertTrue(captor.getValue().getQueryObject().toString().contains("$or"));
+        assertTrue(window.isEmpty());
+    }
+
+    @Test
+    void shouldRejectQueryWithoutIndexedFilter() {
+        assertThrows(IllegalArgumentException.class, () -> new EventHistoryQuery("events", null, null, null, null));
+    }
+
+    @Test
+    void shouldRejectEntityIdWithoutEntity() {
+        assertThrows(IllegalArgumentException.class, () -> new EventHistoryQuery(null, null, "42", null, null));
+    }
+
+    private static EventHistoryDocument document(String id, String occurredAt) {
+        return EventHistoryDocument.builder()
+                .id(id)
+                .module("events")
+                .action("reserve-seat")
+                .entity("event")
+                .entityId("42")
+                .outcome(EventHistoryOutcome.SUCCESS)
+                .occurredAt(Instant.parse(occurredAt))
+                .build();
+    }
+}
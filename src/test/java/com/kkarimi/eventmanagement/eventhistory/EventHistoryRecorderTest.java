@@ -0,0 +1,72 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistoryRecorderTest {
+
+    @Mock
+    private EventHistoryWriter writer;
+
+    @Mock
+    private ObjectProvider<EventHistoryOutbox> outbox;
+
+    @Test
+    void shouldCollectNestedRecordsIntoOutermostScope() {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(writer, outbox, true);
+
+        List<EventHistoryCapture> children = recorder.openScope();
+        assertNotNull(children);
+        assertNull(recorder.openScope());
+
+        recorder.record(capture("reserve-seat"));
+        verify(writer, never()).enqueue(any());
+        recorder.closeScope(children);
+
+        recorder.record(capture("create"));
+
+        assertEquals(1, children.size());
+        assertEquals("reserve-seat", children.getFirst().action());
+        verify(writer).enqueue(any());
+    }
+
+    @Test
+    void shouldRecordEachCallWhenCoalescingIsDisabled() {
+        EventHistoryRecorder recorder = new EventHistoryRecorder(writer, outbox, false);
+
+        assertNull(recorder.openScope());
+        recorder.record(capture("reserve-seat"));
+
+        verify(writer).enqueue(any());
+    }
+
+    private static EventHistoryCapture capture(String action) {
+        return new EventHistoryCapture(
+                "events",
+                action,
+                "event",
+                "#args[0]",
+                null,
+                EventHistoryOutcome.SUCCESS,
+                Instant.now(),
+                EventHistoryPayloadSpec.FULL,
+                new Object[]{1L},
+                null,
+                List.of()
+        );
+    }
+}
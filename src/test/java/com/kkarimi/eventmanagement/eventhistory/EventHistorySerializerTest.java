@@ -0,0 +1,259 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventHistorySerializerTest {
+
+    private final EventHistorySerializer serializer = new EventHistorySerializer(
+            new ObjectMapper(),
+            DataSize.ofKilobytes(16),
+            DataSize.ofBytes(256)
+    );
+
+    @Test
+    void shouldSerializeFullPayload() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.FULL,
+                new Object[]{7L, new Item(3L, "seat")},
+                "ok"
+        ));
+
+        assertEquals("[7,{\"id\":3,\"name\":\"seat\"}]", serializer.payloadJson(document));
+        assertEquals("\"ok\"", serializer.resultJson(document));
+    }
+
+    @Test
+    void shouldSummarizeCollectionsAndRecords() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.SUMMARY,
+                new Object[]{7L, List.of(1L, 2L, 3L)},
+                new Item(3L, "seat")
+        ));
+
+        assertEquals("[7,{\"size\":3}]", serializer.payloadJson(document));
+        assertEquals("{\"type\":\"Item\",\"id\":3}", serializer.resultJson(document));
+    }
+
+    @Test
+    void shouldResolveEntityIdAndTraceId() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.FULL,
+                new Object[]{7L},
+                new Item(3L, "seat")
+        ));
+
+        assertEquals("3", document.getEntityId());
+        assertEquals("trace-1", document.getTraceId());
+        assertEquals(EventHistoryOutcome.SUCCESS, document.getOutcome());
+    }
+
+    @Test
+    void shouldRecordFailureAsErrorResult() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.SUMMARY,
+                new Object[]{7L},
+                new IllegalStateException("No seat available for event: 7")
+        ));
+
+        assertNull(document.getEntityId());
+        assertEquals(EventHistoryOutcome.FAILURE, document.getOutcome());
+        assertEquals(
+                "{\"error\":\"java.lang.IllegalStateException\",\"message\":\"No seat available for event: 7\"}",
+                serializer.resultJson(document)
+        );
+    }
+
+    @Test
+    void shouldOmitPayloadWhenPolicyIsNone() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.NONE,
+                new Object[]{7L},
+                "ok"
+        ));
+
+        assertNull(serializer.payloadJson(document));
+        assertNull(serializer.resultJson(document));
+    }
+
+    @Test
+    void shouldKeepPreSerializedPayload() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.FULL,
+                new RawValue("{\"rows\":2}"),
+                null
+        ));
+
+        assertEquals("{\"rows\":2}", serializer.payloadJson(document));
+    }
+
+    @Test
+    void shouldStoreSmallPayloadAsSubDocument() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.FULL,
+                new Object[]{7L, new Item(3L, "seat")},
+                new Item(3L, "seat")
+        ));
+
+        assertEquals(EventHistorySerializer.COMPACT_FORMAT, document.getFormat());
+        assertEquals(Map.of("id", 3L, "name", "seat"), document.getResult());
+        assertInstanceOf(List.class, document.getPayload());
+        assertNull(document.getCompressedPayload());
+    }
+
+    @Test
+    void shouldCompressPayloadAboveThreshold() {
+        String text = "x".repeat(512);
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.FULL,
+                new Object[]{text},
+                null
+        ));
+
+        assertNull(document.getPayload());
+        assertNotNull(document.getCompressedPayload());
+        assertEquals("[\"" + text + "\"]", serializer.payloadJson(document));
+    }
+
+    @Test
+    void shouldCompressPayloadWithKeysMongoCannotStore() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                TrackEventHistory.PayloadPolicy.FULL,
+                Map.of("a.b", 1),
+                null
+        ));
+
+        assertNull(document.getPayload());
+        assertEquals("{\"a.b\":1}", serializer.payloadJson(document));
+    }
+
+    @Test
+    void shouldReplacePayloadAboveCapWithMarker() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                new EventHistoryPayloadSpec(TrackEventHistory.PayloadPolicy.FULL, List.of(), List.of(), 16),
+                new Object[]{"x".repeat(32)},
+                null
+        ));
+
+        assertEquals("{\"truncated\":true,\"size\":36}", serializer.payloadJson(document));
+    }
+
+    @Test
+    void shouldApplyIncludeAndExcludePaths() {
+        EventHistoryDocument document = serializer.toDocument(capture(
+                new EventHistoryPayloadSpec(TrackEventHistory.PayloadPolicy.FULL, List.of("id", "owner"), List.of("owner.email"), -1),
+                new Object[]{7L, new Item(3L, "seat")},
+                new Order(3L, "note", new Owner("Ada", "ada@example.com"))
+        ));
+
+        assertEquals("[7,{\"id\":3}]", serializer.payloadJson(document));
+        assertEquals("{\"id\":3,\"owner\":{\"name\":\"Ada\"}}", serializer.resultJson(document));
+    }
+
+    @Test
+    void shouldEmbedNestedCallsAsChildrenAndRoundTripThemThroughJson() {
+        EventHistoryCapture child = new EventHistoryCapture(
+                "events",
+                "reserve-seat",
+                "event",
+                "#args[0]",
+                "trace-1",
+                EventHistoryOutcome.SUCCESS,
+                Instant.parse("2026-03-01T10:00:00Z"),
+                EventHistoryPayloadSpec.FULL,
+                new Object[]{7L},
+                null,
+                List.of()
+        );
+        EventHistoryCapture root = new EventHistoryCapture(
+                "registration",
+                "create",
+                "registration",
+                "#result?.id()",
+                "trace-1",
+                EventHistoryOutcome.SUCCESS,
+                Instant.parse("2026-03-01T10:00:01Z"),
+                EventHistoryPayloadSpec.FULL,
+                new Object[]{7L, 9L},
+                new Item(3L, "seat"),
+                List.of(child)
+        );
+
+        EventHistoryDocument document = serializer.toDocument(root);
+
+        assertEquals(1, document.getChildren().size());
+        assertEquals("7", document.getChildren().getFirst().getEntityId());
+        assertEquals("[7]", serializer.payloadJson(document.getChildren().getFirst()));
+        assertEquals(
+                List.of(new EventHistoryEntityRef("registration", "3"), new EventHistoryEntityRef("event", "7")),
+                document.getEntities()
+        );
+        assertNull(document.getChildren().getFirst().getEntities());
+
+        EventHistorySerializer.JsonCapture json = serializer.toJson(root);
+        assertEquals("3", json.entityId());
+        assertEquals("[7,9]", json.payload());
+        EventHistoryDocument relayed = serializer.toDocument(
+                EventHistoryDocument.builder().module("registration"),
+                json.payload(),
+                json.result(),
+                json.children()
+        );
+
+        assertEquals("reserve-seat", relayed.getChildren().getFirst().getAction());
+        assertEquals(Instant.parse("2026-03-01T10:00:00Z"), relayed.getChildren().getFirst().getOccurredAt());
+        assertEquals("[7]", serializer.payloadJson(relayed.getChildren().getFirst()));
+        assertEquals(List.of(new EventHistoryEntityRef("event", "7")), relayed.getEntities());
+    }
+
+    @Test
+    void shouldReadLegacyStringPayload() {
+        EventHistoryDocument document = EventHistoryDocument.builder()
+                .payload("[7]")
+                .result("\"ok\"")
+                .build();
+
+        assertEquals("[7]", serializer.payloadJson(document));
+        assertEquals("\"ok\"", serializer.resultJson(document));
+    }
+
+    private static EventHistoryCapture capture(TrackEventHistory.PayloadPolicy policy, Object payload, Object result) {
+        return capture(new EventHistoryPayloadSpec(policy, List.of(), List.of(), -1), payload, result);
+    }
+
+    private static EventHistoryCapture capture(EventHistoryPayloadSpec spec, Object payload, Object result) {
+        return new EventHistoryCapture(
+                "events",
+                "create",
+                "event",
+                "#result?.id()",
+                "trace-1",
+                result instanceof Throwable ? EventHistoryOutcome.FAILURE : EventHistoryOutcome.SUCCESS,
+                Instant.now(),
+                spec,
+                payload,
+                result,
+                List.of()
+        );
+    }
+
+    public record Item(Long id, String name) {
+    }
+
+    public record Order(Long id, String note, Owner owner) {
+    }
+
+    public record Owner(String name, String email) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistorySpoolTest {
+
+    @Mock
+    private EventHistoryStore store;
+
+    @TempDir
+    private Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReplaySpooledDocumentsAndDeleteSealedSegments() throws IOException {
+        EventHistorySpool spool = spool(DataSize.ofKilobytes(1));
+
+        assertEquals(20, spool.append(documents(20)));
+        assertEquals(20.0, meterRegistry.get("event.history.spool.pending").gauge().value());
+
+        spool.replay();
+
+        ArgumentCaptor<List<EventHistoryDocument>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store, atLeastOnce()).insertMany(captor.capture());
+        assertEquals(20, captor.getAllValues().stream().mapToInt(List::size).sum());
+        assertEquals("action-0", captor.getAllValues().getFirst().getFirst().getAction());
+        assertEquals(0.0, meterRegistry.get("event.history.spool.pending").gauge().value());
+        assertEquals(1, segmentFiles().size());
+        spool.destroy();
+    }
+
+    @Test
+    void shouldKeepDocumentsWhenReplayFailsAndRecoverThemAfterRestart() throws IOException {
+        doThrow(new IllegalStateException("mongo unavailable")).when(store).insertMany(anyList());
+        EventHistorySpool spool = spool(DataSize.ofKilobytes(64));
+        spool.append(documents(5));
+
+        spool.replay();
+        spool.destroy();
+
+        SimpleMeterRegistry restartedRegistry = new SimpleMeterRegistry();
+        EventHistorySpool restarted = new EventHistorySpool(
+                store, objectMapper, restartedRegistry, directory, DataSize.ofKilobytes(64), DataSize.ofMegabytes(1), 10);
+        assertEquals(5.0, restartedRegistry.get("event.history.spool.pending").gauge().value());
+        restarted.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReplayTheSameDocumentIdsAfterAFailedInsert() {
+        doThrow(new IllegalStateException("partial insert")).doNothing().when(store).insertMany(anyList());
+        EventHistorySpool spool = spool(DataSize.ofKilobytes(64));
+        spool.append(documents(3));
+
+        spool.replay();
+        spool.replay();
+
+        ArgumentCaptor<List<EventHistoryDocument>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store, times(2)).insertMany(captor.capture());
+        List<String> first = captor.getAllValues().get(0).stream().map(EventHistoryDocument::getId).toList();
+        List<String> second = captor.getAllValues().get(1).stream().map(EventHistoryDocument::getId).toList();
+        assertEquals(3, first.stream().filter(Objects::nonNull).distinct().count());
+        assertEquals(first, second);
+        spool.destroy();
+    }
+
+    @Test
+    void shouldStopAppendingWhenMaxSizeIsReached() {
+        EventHistorySpool spool = new EventHistorySpool(
+                store, objectMapper, meterRegistry, directory, DataSize.ofKilobytes(1), DataSize.ofKilobytes(2), 10);
+
+        int appended = spool.append(documents(100));
+
+        assertEquals(true, appended > 0 && appended < 100);
+        assertEquals(2048.0, meterRegistry.get("event.history.spool.size").gauge().value());
+        spool.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSkipRecordsWithBadChecksum() throws IOException {
+        EventHistorySpool spool = spool(DataSize.ofKilobytes(64));
+        List<EventHistoryDocument> spooled = documents(3);
+        spool.append(spooled);
+        spool.destroy();
+        Path segment = segmentFiles().getFirst();
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            int secondRecord = SpoolSegment.HEADER_SIZE + SpoolSegment.RECORD_HEADER_SIZE
+                    + objectMapper.writeValueAsBytes(spooled.getFirst()).length;
+            channel.write(ByteBuffer.wrap(new byte[]{'#'}), secondRecord + SpoolSegment.RECORD_HEADER_SIZE + 1);
+        }
+
+        EventHistorySpool restarted = new EventHistorySpool(
+                store, objectMapper, new SimpleMeterRegistry(), directory, DataSize.ofKilobytes(64), DataSize.ofMegabytes(1), 10);
+        restarted.replay();
+
+        ArgumentCaptor<List<EventHistoryDocument>> captor = ArgumentCaptor.forClass(List.class);
+        verify(store).insertMany(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        restarted.destroy();
+    }
+
+    @Test
+    void shouldNotTouchStoreWhenSpoolIsEmpty() {
+        EventHistorySpool spool = spool(DataSize.ofKilobytes(64));
+
+        spool.replay();
+
+        verify(store, never()).insertMany(anyList());
+        spool.destroy();
+    }
+
+    private EventHistorySpool spool(DataSize segmentSize) {
+        return new EventHistorySpool(store, objectMapper, meterRegistry, directory, segmentSize, DataSize.ofMegabytes(1), 10);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static List<EventHistoryDocument> documents(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> EventHistoryDocument.builder()
+                        .module("events")
+                        .action("action-" + index)
+                        .entity("event")
+                        .occurredAt(Instant.parse("2026-01-01T00:00:00Z"))
+                        .payload("[" + index + "]")
+                        .build())
+                .toList();
+    }
+}
@@ -1,18 +1,20 @@
 package com.kkarimi.eventmanagement.eventhistory;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.context.ApplicationEventPublisher;
 
 import java.lang.reflect.Method;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -23,35 +25,65 @@ class EventHistoryTrackingAspectTest {
     private ProceedingJoinPoint joinPoint;
 
     @Mock
-    private ApplicationEventPublisher eventPublisher;
+    private MethodSignature signature;
+
+    @Mock
+    private EventHistoryRecorder recorder;
 
     @Test
-    void shouldPublishEventHistoryRecordedEventAfterSuccessfulExecution() throws Throwable {
-        EventHistoryTrackingAspect aspect = new EventHistoryTrackingAspect(eventPublisher, new ObjectMapper());
+    void shouldEnqueueCapturedReferencesAfterSuccessfulExecution() throws Throwable {
+        EventHistoryTrackingAspect aspect = new EventHistoryTrackingAspect(recorder);
         Method method = TestTarget.class.getDeclaredMethod("trackedMethod");
         TrackEventHistory annotation = method.getAnnotation(TrackEventHistory.class);
+        Object[] args = {"payload"};
 
         when(joinPoint.proceed()).thenReturn("ok");
-        when(joinPoint.getArgs()).thenReturn(new Object[]{"payload"});
+        when(joinPoint.getArgs()).thenReturn(args);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(method);
 
         Object result = aspect.captureEventHistory(joinPoint, annotation);
 
         assertEquals("ok", result);
 
-        ArgumentCaptor<EventHistoryRecordedEvent> captor = ArgumentCaptor.forClass(EventHistoryRecordedEvent.class);
-        verify(eventPublisher).publishEvent(captor.capture());
+        ArgumentCaptor<EventHistoryCapture> captor = ArgumentCaptor.forClass(EventHistoryCapture.class);
+        verify(recorder).record(captor.capture());
+
+        EventHistoryCapture capture = captor.getValue();
+        assertEquals("registration", capture.module());
+        assertEquals("create", capture.action());
+        assertEquals("registration", capture.entity());
+        assertEquals(TrackEventHistory.PayloadPolicy.SUMMARY, capture.payloadSpec().policy());
+        assertNotNull(capture.occurredAt());
+        assertArrayEquals(args, (Object[]) capture.payload());
+        assertEquals("ok", capture.result());
+        assertEquals(EventHistoryOutcome.SUCCESS, capture.outcome());
+        assertEquals("#result", capture.entityIdExpression());
+    }
+
+    @Test
+    void shouldEnqueueFailureAndRethrow() throws Throwable {
+        EventHistoryTrackingAspect aspect = new EventHistoryTrackingAspect(recorder);
+        Method method = TestTarget.class.getDeclaredMethod("trackedMethod");
+        TrackEventHistory annotation = method.getAnnotation(TrackEventHistory.class);
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        when(joinPoint.proceed()).thenThrow(failure);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"payload"});
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod()).thenReturn(method);
+
+        assertThrows(IllegalStateException.class, () -> aspect.captureEventHistory(joinPoint, annotation));
 
-        EventHistoryRecordedEvent event = captor.getValue();
-        assertEquals("registration", event.module());
-        assertEquals("create", event.action());
-        assertEquals("registration", event.entity());
-        assertNotNull(event.occurredAt());
-        assertNotNull(event.payload());
-        assertNotNull(event.result());
+        ArgumentCaptor<EventHistoryCapture> captor = ArgumentCaptor.forClass(EventHistoryCapture.class);
+        verify(recorder).record(captor.capture());
+        assertEquals(EventHistoryOutcome.FAILURE, captor.getValue().outcome());
+        assertSame(failure, captor.getValue().result());
     }
 
     private static class TestTarget {
-        @TrackEventHistory(module = "registration", action = "create", entity = "registration")
+        @TrackEventHistory(module = "registration", action = "create", entity = "registration",
+                entityId = "#result", payload = TrackEventHistory.PayloadPolicy.SUMMARY)
         void trackedMethod() {
         }
     }
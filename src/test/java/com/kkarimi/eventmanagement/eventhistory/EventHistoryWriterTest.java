@@ -0,0 +1,184 @@
+package com.kkarimi.eventmanagement.eventhistory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class EventHistoryWriterTest {
+
+    @Mock
+    private EventHistoryStore store;
+
+    @Mock
+    private EventHistorySpool spool;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final EventHistorySerializer serializer = spy(new EventHistorySerializer(new ObjectMapper(), DataSize.ofKilobytes(16), DataSize.ofKilobytes(1)));
+
+    private EventHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.destroy();
+    }
+
+    @Test
+    void shouldWriteQueuedDocumentsInOneBatch() throws InterruptedException {
+        writer = writer(100, 10, Duration.ofMillis(200), EventHistoryWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(document("a"));
+        writer.enqueue(document("b"));
+        writer.enqueue(document("c"));
+
+        verify(store, timeout(2000)).insertMany(argThat(batch -> batch.size() == 3));
+        writer.destroy();
+        assertEquals(1, meterRegistry.get("event.history.batch.size").summary().count());
+    }
+
+    @Test
+    void shouldCountDroppedDocumentsWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushing.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return null;
+        }).when(store).insertMany(anyList());
+        writer = writer(1, 1, Duration.ZERO, EventHistoryWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(document("in-flight"));
+        flushing.await(2, TimeUnit.SECONDS);
+        writer.enqueue(document("queued"));
+        writer.enqueue(document("dropped"));
+        release.countDown();
+
+        assertEquals(1.0, meterRegistry.get("event.history.dropped.total").tag("reason", "queue-full").counter().count());
+        verify(spool, never()).append(any());
+    }
+
+    @Test
+    void shouldSpillOverflowOnWriterThreadWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch spilled = new CountDownLatch(1);
+        AtomicReference<String> spillThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            flushing.countDown();
+            release.await(2, TimeUnit.SECONDS);
+            return null;
+        }).when(store).insertMany(anyList());
+        doAnswer(invocation -> {
+            spillThread.set(Thread.currentThread().getName());
+            spilled.countDown();
+            return 1;
+        }).when(spool).append(anyList());
+        writer = writer(1, 1, Duration.ZERO, EventHistoryWriter.OverflowPolicy.SPILL);
+
+        writer.enqueue(document("in-flight"));
+        flushing.await(2, TimeUnit.SECONDS);
+        writer.enqueue(document("queued"));
+        writer.enqueue(document("handed-off"));
+        writer.enqueue(document("dropped"));
+
+        verify(spool, never()).append(any());
+        assertEquals(1.0, meterRegistry.get("event.history.dropped.total").tag("reason", "queue-full").counter().count());
+        release.countDown();
+        assertTrue(spilled.await(2, TimeUnit.SECONDS));
+        verify(spool).append(argThat(batch -> batch.size() == 1));
+        assertEquals("event-history-writer", spillThread.get());
+    }
+
+    @Test
+    void shouldKeepWritingWhenOneCaptureFailsToSerialize() throws InterruptedException {
+        doAnswer(invocation -> {
+            if ("bad".equals(invocation.getArgument(0, EventHistoryCapture.class).action())) {
+                throw new IllegalStateException("unserializable");
+            }
+            return invocation.callRealMethod();
+        }).when(serializer).toDocument(any(EventHistoryCapture.class));
+        writer = writer(10, 10, Duration.ofMillis(200), EventHistoryWriter.OverflowPolicy.DROP);
+
+        writer.enqueue(document("bad"));
+        writer.enqueue(document("good"));
+
+        verify(store, timeout(2000)).insertMany(argThat(batch -> batch.size() == 1));
+        assertEquals(1.0, meterRegistry.get("event.history.dropped.total").tag("reason", "serialization-failure").counter().count());
+    }
+
+    @Test
+    void writerShouldSurviveSpoolFailure() throws InterruptedException {
+        doThrow(new IllegalStateException("mongo unavailable")).when(store).insertMany(anyList());
+        doThrow(new IllegalStateException("disk full")).when(spool).append(anyList());
+        writer = writer(10, 10, Duration.ZERO, EventHistoryWriter.OverflowPolicy.SPILL);
+
+        writer.enqueue(document("a"));
+        verify(spool, timeout(2000)).append(anyList());
+        writer.enqueue(document("b"));
+
+        verify(spool, timeout(2000).times(2)).append(anyList());
+        writer.destroy();
+        assertEquals(2.0, meterRegistry.get("event.history.dropped.total").tag("reason", "write-failure").counter().count());
+    }
+
+    @Test
+    void shouldSpillBatchWhenWriteFails() throws InterruptedException {
+        CountDownLatch spilled = new CountDownLatch(1);
+        doThrow(new IllegalStateException("mongo unavailable")).when(store).insertMany(anyList());
+        doAnswer(invocation -> {
+            spilled.countDown();
+            return 1;
+        }).when(spool).append(anyList());
+        writer = writer(10, 10, Duration.ZERO, EventHistoryWriter.OverflowPolicy.SPILL);
+
+        writer.enqueue(document("a"));
+
+        assertTrue(spilled.await(2, TimeUnit.SECONDS));
+        verify(spool).append(argThat(batch -> batch.size() == 1));
+    }
+
+    private EventHistoryWriter writer(int capacity, int batchSize, Duration linger, EventHistoryWriter.OverflowPolicy policy) {
+        return new EventHistoryWriter(store, spool, serializer, meterRegistry, capacity, batchSize, linger, policy, Duration.ofMillis(10), Duration.ofSeconds(5));
+    }
+
+    private static EventHistoryCapture document(String action) {
+        return new EventHistoryCapture(
+                "events",
+                action,
+                "event",
+                "#args[0]",
+                null,
+                EventHistoryOutcome.SUCCESS,
+                Instant.now(),
+                EventHistoryPayloadSpec.FULL,
+                new Object[]{1L},
+                null,
+                List.of()
+        );
+    }
+}
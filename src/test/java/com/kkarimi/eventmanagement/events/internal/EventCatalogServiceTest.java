@@ -2,23 +2,32 @@ package com.kkarimi.eventmanagement.events.internal;
 
 import com.kkarimi.eventmanagement.events.Event;
 import com.kkarimi.eventmanagement.events.NewEventCommand;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,9 +39,29 @@ class EventCatalogServiceTest {
     @Mock
     private EventMapper mapper;
 
-    @InjectMocks
+    @Mock
+    private EventListCacheGeneration eventListCacheGeneration;
+
+    @Mock
+    private EventWindowCache eventWindowCache;
+
+    @Mock
+    private SoldOutRegistry soldOutRegistry;
+
     private EventCatalogService service;
 
+    @BeforeEach
+    void setUp() {
+        service = new EventCatalogService(
+                repository,
+                mapper,
+                eventListCacheGeneration,
+                eventWindowCache,
+                soldOutRegistry,
+                SeatReservationMode.PESSIMISTIC_LOCK
+        );
+    }
+
     @Test
     void createShouldPersistAndReturnMappedModel() {
         NewEventCommand command = new NewEventCommand("Event", LocalDateTime.now().plusDays(1), 10);
@@ -46,6 +75,7 @@ class EventCatalogServiceTest {
         Event result = service.create(command);
 
         assertEquals(model, result);
+        verify(eventListCacheGeneration).advanceAfterCommit();
     }
 
     @Test
@@ -82,6 +112,8 @@ class EventCatalogServiceTest {
 
         assertEquals(3, entity.getReservedSeats());
         assertEquals(model, result);
+        verify(eventListCacheGeneration).advanceAfterCommit();
+        verify(eventWindowCache).evictAfterCommit(entity.getStartsAt());
     }
 
     @Test
@@ -92,6 +124,88 @@ class EventCatalogServiceTest {
         when(repository.findByIdForUpdate(id)).thenReturn(Optional.of(entity));
 
         assertThrows(IllegalStateException.class, () -> service.reserveSeat(id));
+        verify(eventListCacheGeneration, never()).advanceAfterCommit();
+        verify(soldOutRegistry).markSoldOut(id, 2);
+    }
+
+    @Test
+    void reserveSeatShouldFlagEventSoldOutWhenLastSeatIsTaken() {
+        Long id = 1L;
+        EventJpaEntity entity = new EventJpaEntity(id, "Event", LocalDateTime.now().plusDays(1), 3, 2, null);
+        Event model = new Event(id, "Event", entity.getStartsAt(), 3, 3);
+
+        when(repository.findByIdForUpdate(id)).thenReturn(Optional.of(entity));
+        when(mapper.toModel(entity)).thenReturn(model);
+
+        service.reserveSeat(id);
+
+        verify(soldOutRegistry).markSoldOutAfterCommit(id, 3);
+    }
+
+    @Test
+    void changeCapacityShouldClearSoldOutFlagWhenSeatsBecomeAvailable() {
+        Long id = 1L;
+        EventJpaEntity entity = new EventJpaEntity(id, "Event", LocalDateTime.now().plusDays(1), 3, 3, null);
+        Event model = new Event(id, "Event", entity.getStartsAt(), 5, 3);
+
+        when(repository.findByIdForUpdate(id)).thenReturn(Optional.of(entity));
+        when(mapper.toModel(entity)).thenReturn(model);
+
+        assertEquals(model, service.changeCapacity(id, 5));
+        assertEquals(5, entity.getCapacity());
+        verify(soldOutRegistry).clearAfterCommit(id, 5);
+        verify(eventWindowCache).evictAfterCommit(entity.getStartsAt());
+    }
+
+    @Test
+    void changeCapacityShouldRejectCapacityBelowReservedSeats() {
+        Long id = 1L;
+        EventJpaEntity entity = new EventJpaEntity(id, "Event", LocalDateTime.now().plusDays(1), 5, 4, null);
+
+        when(repository.findByIdForUpdate(id)).thenReturn(Optional.of(entity));
+
+        assertThrows(IllegalStateException.class, () -> service.changeCapacity(id, 3));
+        assertEquals(5, entity.getCapacity());
+    }
+
+    @Test
+    void conditionalReserveSeatShouldUseGuardedUpdateWithoutLocking() {
+        Long id = 1L;
+        EventCatalogService conditionalService = conditionalService();
+        EventJpaEntity entity = new EventJpaEntity(id, "Event", LocalDateTime.now().plusDays(1), 10, 3, 4L);
+        Event model = new Event(id, "Event", entity.getStartsAt(), 10, 3);
+
+        when(repository.reserveSeatsIfAvailable(eq(id), eq(1), any())).thenReturn(1);
+        when(repository.findById(id)).thenReturn(Optional.of(entity));
+        when(mapper.toModel(entity)).thenReturn(model);
+
+        Event result = conditionalService.reserveSeat(id);
+
+        assertEquals(model, result);
+        verify(repository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void conditionalReserveSeatShouldFailWhenCapacityReached() {
+        Long id = 1L;
+        EventCatalogService conditionalService = conditionalService();
+
+        when(repository.reserveSeatsIfAvailable(eq(id), eq(1), any())).thenReturn(0);
+        when(repository.findCapacityById(id)).thenReturn(Optional.of(10));
+
+        assertThrows(IllegalStateException.class, () -> conditionalService.reserveSeat(id));
+        verify(soldOutRegistry).markSoldOut(id, 10);
+    }
+
+    @Test
+    void conditionalReserveSeatShouldFailWhenEventMissing() {
+        Long id = 1L;
+        EventCatalogService conditionalService = conditionalService();
+
+        when(repository.reserveSeatsIfAvailable(eq(id), eq(1), any())).thenReturn(0);
+        when(repository.findCapacityById(id)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> conditionalService.reserveSeat(id));
     }
 
     @Test
@@ -113,4 +227,80 @@ class EventCatalogServiceTest {
 
         assertEquals(List.of(m1, m2), result.getContent());
     }
+
+    @Test
+    void reserveSeatsShouldGrantOnlyRemainingCapacityUnderLock() {
+        Long id = 1L;
+        EventJpaEntity entity = new EventJpaEntity(id, "Event", LocalDateTime.now().plusDays(1), 10, 7, null);
+
+        when(repository.findByIdForUpdate(id)).thenReturn(Optional.of(entity));
+        when(repository.findStartsAtById(id)).thenReturn(Optional.of(entity.getStartsAt()));
+
+        int granted = service.reserveSeats(id, 5);
+
+        assertEquals(3, granted);
+        assertEquals(10, entity.getReservedSeats());
+        verify(eventListCacheGeneration).advanceAfterCommit();
+        verify(eventWindowCache).evictAfterCommit(entity.getStartsAt());
+    }
+
+    @Test
+    void conditionalReserveSeatsShouldGrantWholeGroupWithOneGuardedUpdate() {
+        Long id = 1L;
+        EventCatalogService conditionalService = conditionalService();
+
+        when(repository.reserveSeatsIfAvailable(eq(id), eq(5), any())).thenReturn(1);
+
+        assertEquals(5, conditionalService.reserveSeats(id, 5));
+        verify(repository, never()).findByIdForUpdate(any());
+    }
+
+    @Test
+    void scrollShouldReturnWindowWithNextPositionAfterLastElement() {
+        LocalDateTime startsAt = LocalDateTime.now().plusDays(1);
+        EventJpaEntity e1 = new EventJpaEntity(1L, "First", startsAt, 10, 0, null);
+        EventJpaEntity e2 = new EventJpaEntity(2L, "Second", startsAt, 10, 0, null);
+        EventJpaEntity e3 = new EventJpaEntity(3L, "Third", startsAt, 10, 0, null);
+        Event m1 = new Event(1L, "First", startsAt, 10, 0);
+        Event m2 = new Event(2L, "Second", startsAt, 10, 0);
+
+        when(repository.findAllByOrderByStartsAtAscIdAsc(PageRequest.ofSize(3))).thenReturn(List.of(e1, e2, e3));
+        when(mapper.toModel(e1)).thenReturn(m1);
+        when(mapper.toModel(e2)).thenReturn(m2);
+
+        Window<Event> window = service.findAll(ScrollPosition.keyset(), 2);
+
+        assertEquals(List.of(m1, m2), window.getContent());
+        assertTrue(window.hasNext());
+        assertEquals(
+                ScrollPosition.forward(Map.of("startsAt", startsAt, "id", 2L)),
+                window.positionAt(1)
+        );
+    }
+
+    @Test
+    void scrollShouldContinueAfterCursorKeys() {
+        LocalDateTime startsAt = LocalDateTime.now().plusDays(1);
+        EventJpaEntity e3 = new EventJpaEntity(3L, "Third", startsAt, 10, 0, null);
+        Event m3 = new Event(3L, "Third", startsAt, 10, 0);
+
+        when(repository.findAllAfter(startsAt, 2L, PageRequest.ofSize(3))).thenReturn(List.of(e3));
+        when(mapper.toModel(e3)).thenReturn(m3);
+
+        Window<Event> window = service.findAll(ScrollPosition.forward(Map.of("startsAt", startsAt, "id", 2L)), 2);
+
+        assertEquals(List.of(m3), window.getContent());
+        assertFalse(window.hasNext());
+    }
+
+    private EventCatalogService conditionalService() {
+        return new EventCatalogService(
+                repository,
+                mapper,
+                eventListCacheGeneration,
+                eventWindowCache,
+                soldOutRegistry,
+                SeatReservationMode.CONDITIONAL_UPDATE
+        );
+    }
 }
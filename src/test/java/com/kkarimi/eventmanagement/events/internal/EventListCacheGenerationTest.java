@@ -0,0 +1,44 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventListCacheGenerationTest {
+
+    @Test
+    void advancingGenerationShouldChangeListKeys() {
+        EventListCacheGeneration generation = new EventListCacheGeneration(mock(StringRedisTemplate.class), "simple");
+        PageRequest pageable = PageRequest.of(0, 20);
+
+        Object before = generation.generate(null, null, pageable);
+        generation.advanceAfterCommit();
+        Object after = generation.generate(null, null, pageable);
+
+        assertNotEquals(before, after);
+        assertEquals("g1::" + pageable, after);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharedGenerationShouldBeReadFromAndIncrementedInRedis() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        when(operations.get("v2::eventList::generation")).thenReturn("7");
+        EventListCacheGeneration generation = new EventListCacheGeneration(redisTemplate, "redis");
+
+        assertEquals(7L, generation.current());
+
+        generation.advanceAfterCommit();
+
+        verify(operations).increment("v2::eventList::generation");
+    }
+}
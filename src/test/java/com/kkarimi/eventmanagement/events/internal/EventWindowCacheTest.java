@@ -0,0 +1,80 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import com.kkarimi.eventmanagement.events.Event;
+import com.kkarimi.eventmanagement.events.EventWindowQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventWindowCacheTest {
+
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final List<Event> events = List.of(
+            event(1L, MIDNIGHT.plusMinutes(10)),
+            event(2L, MIDNIGHT.plusHours(1).plusMinutes(30)),
+            event(3L, MIDNIGHT.plusHours(2).plusMinutes(5))
+    );
+    private final List<LocalDateTime[]> loads = new ArrayList<>();
+    private final BiFunction<LocalDateTime, LocalDateTime, List<Event>> loader = (from, to) -> {
+        loads.add(new LocalDateTime[] {from, to});
+        return events.stream()
+                .filter(event -> !event.startsAt().isBefore(from) && event.startsAt().isBefore(to))
+                .toList();
+    };
+
+    private EventWindowCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EventWindowCache(new ConcurrentMapCacheManager(), Duration.ofHours(1));
+    }
+
+    @Test
+    void queriesInTheSameBucketsShouldShareOneLoad() {
+        List<Event> first = cache.find(new EventWindowQuery(MIDNIGHT, MIDNIGHT.plusHours(3)), loader);
+        List<Event> second = cache.find(new EventWindowQuery(MIDNIGHT.plusMinutes(20), MIDNIGHT.plusHours(2)), loader);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(first));
+        assertEquals(List.of(2L), ids(second));
+        assertEquals(1, loads.size());
+        assertEquals(MIDNIGHT, loads.getFirst()[0]);
+        assertEquals(MIDNIGHT.plusHours(3), loads.getFirst()[1]);
+    }
+
+    @Test
+    void evictShouldReloadOnlyTheBucketOfTheEvent() {
+        cache.find(new EventWindowQuery(MIDNIGHT, MIDNIGHT.plusHours(3)), loader);
+
+        cache.evictAfterCommit(MIDNIGHT.plusHours(1).plusMinutes(30));
+        List<Event> result = cache.find(new EventWindowQuery(MIDNIGHT, MIDNIGHT.plusHours(3)), loader);
+
+        assertEquals(List.of(1L, 2L, 3L), ids(result));
+        assertEquals(2, loads.size());
+        assertEquals(MIDNIGHT.plusHours(1), loads.get(1)[0]);
+        assertEquals(MIDNIGHT.plusHours(2), loads.get(1)[1]);
+    }
+
+    @Test
+    void queryShouldRejectInvalidWindows() {
+        assertThrows(IllegalArgumentException.class, () -> new EventWindowQuery(MIDNIGHT, MIDNIGHT));
+        assertThrows(IllegalArgumentException.class, () -> new EventWindowQuery(MIDNIGHT, MIDNIGHT.plusDays(32)));
+    }
+
+    private static Event event(Long id, LocalDateTime startsAt) {
+        return new Event(id, "Event " + id, startsAt, 10, 0);
+    }
+
+    private static List<Long> ids(List<Event> events) {
+        return events.stream().map(Event::id).toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.kkarimi.eventmanagement.events.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class SoldOutRegistryTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void markSoldOutShouldFlagLocallyAndBroadcast() {
+        SoldOutRegistry registry = new SoldOutRegistry(redisTemplate, meterRegistry, "redis", Duration.ofMinutes(5));
+
+        registry.markSoldOut(1L, 10);
+
+        assertTrue(registry.isSoldOut(1L));
+        assertFalse(registry.isSoldOut(2L));
+        assertEquals(1.0, meterRegistry.get("event.soldout.flagged").gauge().value());
+        verify(redisTemplate).convertAndSend(eq(SoldOutRegistry.CHANNEL), anyString());
+    }
+
+    @Test
+    void clearAfterCommitShouldApplyImmediatelyOutsideTransaction() {
+        SoldOutRegistry registry = new SoldOutRegistry(redisTemplate, meterRegistry, "simple", Duration.ofMinutes(5));
+        registry.markSoldOut(1L, 10);
+
+        registry.clearAfterCommit(1L, 12);
+
+        assertFalse(registry.isSoldOut(1L));
+    }
+
+    @Test
+    void flagShouldExpireAfterTimeToLive() {
+        SoldOutRegistry registry = new SoldOutRegistry(redisTemplate, meterRegistry, "simple", Duration.ZERO);
+
+        registry.markSoldOut(1L, 10);
+
+        assertFalse(registry.isSoldOut(1L));
+    }
+
+    @Test
+    void peerMessagesShouldUpdateFlagsAndOwnMessagesShouldBeIgnored() {
+        SoldOutRegistry registry = new SoldOutRegistry(redisTemplate, meterRegistry, "redis", Duration.ofMinutes(5));
+
+        registry.apply("peer|S|7|10");
+        assertTrue(registry.isSoldOut(7L));
+
+        registry.apply("peer|A|7|12");
+        assertFalse(registry.isSoldOut(7L));
+
+        registry.apply("peer|S|not-a-number|12");
+        registry.apply("peer|S|7");
+        assertFalse(registry.isSoldOut(7L));
+    }
+
+    @Test
+    void staleSoldOutFlagFromBeforeReopenShouldBeIgnored() {
+        SoldOutRegistry registry = new SoldOutRegistry(redisTemplate, meterRegistry, "redis", Duration.ofMinutes(5));
+
+        registry.clearAfterCommit(7L, 12);
+        registry.apply("peer|S|7|10");
+        assertFalse(registry.isSoldOut(7L));
+
+        registry.apply("peer|S|7|12");
+        assertTrue(registry.isSoldOut(7L));
+        verify(redisTemplate).convertAndSend(eq(SoldOutRegistry.CHANNEL), argThat((String message) -> message.endsWith("|A|7|12")));
+    }
+}
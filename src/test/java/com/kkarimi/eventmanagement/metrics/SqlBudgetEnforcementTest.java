@@ -0,0 +1,82 @@
+package com.kkarimi.eventmanagement.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlbudgetdb;MODE=MariaDB;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.cache.type=simple",
+        "app.metrics.sql.budget-enforcement=fail",
+        "app.metrics.sql.budgets[registration.process.duration]=1",
+        "app.metrics.sql.budgets[event.lookup.duration]=5"
+})
+@AutoConfigureMockMvc
+class SqlBudgetEnforcementTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void operationWithinBudgetShouldSucceed() throws Exception {
+        long eventId = create("/api/events", """
+                {"title": "Budgeted", "startsAt": "2099-03-01T10:00:00", "capacity": 10}
+                """);
+
+        mockMvc.perform(get("/api/events/{eventId}", eventId))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void operationOverBudgetShouldFailAndRollBack() throws Exception {
+        long eventId = create("/api/events", """
+                {"title": "Over budget", "startsAt": "2099-03-01T10:00:00", "capacity": 10}
+                """);
+        long attendeeId = create("/api/attendees", """
+                {"fullName": "Budget Attendee", "email": "budget@example.com"}
+                """);
+
+        mockMvc.perform(post("/api/registrations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"eventId\": " + eventId + ", \"attendeeId\": " + attendeeId + "}"))
+                .andExpect(status().isInternalServerError());
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from registrations where event_id = ?", Integer.class, eventId));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select reserved_seats from events where id = ?", Integer.class, eventId));
+    }
+
+    private long create(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        JsonNode created = objectMapper.readTree(response);
+        return created.get("id").asLong();
+    }
+}
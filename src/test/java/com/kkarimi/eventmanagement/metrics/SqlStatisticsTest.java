@@ -0,0 +1,79 @@
+package com.kkarimi.eventmanagement.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatisticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void statementsShouldBeAttributedToEveryOpenFrame() {
+        SqlStatistics statistics = statistics(SqlAccountingProperties.BudgetEnforcement.LOG);
+
+        SqlStatistics.Frame request = statistics.open();
+        statistics.recordStatement(1_000);
+        SqlStatistics.Frame operation = statistics.open();
+        statistics.recordStatement(2_000);
+        statistics.recordRow();
+        statistics.recordRow();
+        statistics.close(operation, SqlStatistics.OPERATION_SCOPE, "registration.process.duration", -1, true);
+        statistics.close(request, SqlStatistics.REQUEST_SCOPE, "POST /api/registrations", -1, true);
+
+        assertEquals(1, operation.statements());
+        assertEquals(2, operation.rows());
+        assertEquals(2, request.statements());
+        assertEquals(2, request.rows());
+        assertEquals(2.0, meterRegistry.get("sql.statements")
+                .tags("scope", "request", "name", "POST /api/registrations")
+                .summary()
+                .totalAmount());
+    }
+
+    @Test
+    void statementsOutsideAnyFrameShouldBeIgnored() {
+        SqlStatistics statistics = statistics(SqlAccountingProperties.BudgetEnforcement.LOG);
+
+        statistics.recordStatement(1_000);
+        SqlStatistics.Frame frame = statistics.open();
+        statistics.close(frame, SqlStatistics.REQUEST_SCOPE, "GET /api/events", -1, true);
+
+        assertEquals(0, frame.statements());
+    }
+
+    @Test
+    void exceededBudgetShouldFailOnlyInFailMode() {
+        SqlStatistics logging = statistics(SqlAccountingProperties.BudgetEnforcement.LOG);
+        SqlStatistics.Frame logged = logging.open();
+        logging.recordStatement(1_000);
+        logging.recordStatement(1_000);
+        assertDoesNotThrow(() -> logging.close(logged, SqlStatistics.OPERATION_SCOPE, "op", 1, true));
+
+        SqlStatistics failing = statistics(SqlAccountingProperties.BudgetEnforcement.FAIL);
+        SqlStatistics.Frame failed = failing.open();
+        failing.recordStatement(1_000);
+        failing.recordStatement(1_000);
+        assertThrows(SqlBudgetExceededException.class,
+                () -> failing.close(failed, SqlStatistics.OPERATION_SCOPE, "op", 1, true));
+
+        SqlStatistics.Frame aborted = failing.open();
+        failing.recordStatement(1_000);
+        failing.recordStatement(1_000);
+        assertDoesNotThrow(() -> failing.close(aborted, SqlStatistics.OPERATION_SCOPE, "op", 1, false));
+
+        SqlStatistics.Frame request = failing.open();
+        failing.recordStatement(1_000);
+        failing.recordStatement(1_000);
+        assertDoesNotThrow(() -> failing.close(request, SqlStatistics.REQUEST_SCOPE, "GET /api/events", 1, true));
+    }
+
+    private SqlStatistics statistics(SqlAccountingProperties.BudgetEnforcement enforcement) {
+        return new SqlStatistics(meterRegistry, new SqlAccountingProperties(true, enforcement, Map.of()));
+    }
+}
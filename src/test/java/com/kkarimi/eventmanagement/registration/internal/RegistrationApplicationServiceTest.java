@@ -8,28 +8,38 @@ import com.kkarimi.eventmanagement.notifications.NotificationGateway;
 import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
 import com.kkarimi.eventmanagement.registration.Registration;
 import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationExportQuery;
+import com.kkarimi.eventmanagement.registration.RegistrationResult;
+import com.kkarimi.eventmanagement.registration.RegistrationStatus;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +60,15 @@ class RegistrationApplicationServiceTest {
     @Mock
     private RegistrationMapper mapper;
 
+    @Mock
+    private RegistrationBatchWriter batchWriter;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private RegistrationBitmapIndex bitmapIndex;
+
     @InjectMocks
     private RegistrationApplicationService service;
 
@@ -65,7 +84,7 @@ class RegistrationApplicationServiceTest {
             Registration r = inv.getArgument(0);
             return new RegistrationJpaEntity(r.id(), r.eventId(), r.attendeeId(), r.registeredAt());
         });
-        when(repository.save(any(RegistrationJpaEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(repository.saveAndFlush(any(RegistrationJpaEntity.class))).thenAnswer(inv -> inv.getArgument(0));
         when(mapper.toModel(any(RegistrationJpaEntity.class))).thenAnswer(inv -> {
             RegistrationJpaEntity entity = inv.getArgument(0);
             return new Registration(entity.getId(), entity.getEventId(), entity.getAttendeeId(), entity.getRegisteredAt());
@@ -77,13 +96,25 @@ class RegistrationApplicationServiceTest {
         assertEquals(attendeeId, result.attendeeId());
 
         ArgumentCaptor<RegistrationJpaEntity> captor = ArgumentCaptor.forClass(RegistrationJpaEntity.class);
-        verify(repository).save(captor.capture());
+        verify(repository).saveAndFlush(captor.capture());
         assertEquals(eventId, captor.getValue().getEventId());
         assertEquals(attendeeId, captor.getValue().getAttendeeId());
-        verify(notificationGateway).sendRegistrationConfirmation(result);
+        verify(notificationGateway).sendRegistrationConfirmation(RegistrationApplicationService.confirmation(result));
         verify(eventCatalog).reserveSeat(eventId);
     }
 
+    @Test
+    void registerShouldRejectSoldOutEventWithoutLookups() {
+        Long eventId = 1L;
+
+        when(eventCatalog.isSoldOut(eventId)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> service.register(new RegistrationCommand(eventId, 2L)));
+        verify(eventCatalog, never()).findById(any());
+        verify(eventCatalog, never()).reserveSeat(any());
+        verifyNoInteractions(attendeeDirectory, repository);
+    }
+
     @Test
     void registerShouldFailWhenEventMissing() {
         Long eventId = 1L;
@@ -94,7 +125,7 @@ class RegistrationApplicationServiceTest {
         assertThrows(NoSuchElementException.class, () -> service.register(new RegistrationCommand(eventId, attendeeId)));
 
         verify(attendeeDirectory, never()).findById(any());
-        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -107,7 +138,7 @@ class RegistrationApplicationServiceTest {
 
         assertThrows(NoSuchElementException.class, () -> service.register(new RegistrationCommand(eventId, attendeeId)));
 
-        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
         verify(notificationGateway, never()).sendRegistrationConfirmation(any());
     }
 
@@ -123,10 +154,144 @@ class RegistrationApplicationServiceTest {
         assertThrows(DuplicateRegistrationException.class, () -> service.register(new RegistrationCommand(eventId, attendeeId)));
 
         verify(eventCatalog, never()).reserveSeat(any());
-        verify(repository, never()).save(any());
+        verify(repository, never()).saveAndFlush(any());
+        verify(notificationGateway, never()).sendRegistrationConfirmation(any());
+    }
+
+    @Test
+    void registerShouldUseBitmapIndexForDuplicateCheckOnceBuilt() {
+        Long eventId = 1L;
+        Long attendeeId = 2L;
+
+        when(eventCatalog.findById(eventId)).thenReturn(Optional.of(new Event(eventId, "E", LocalDateTime.now().plusDays(1), 10, 0)));
+        when(attendeeDirectory.findById(attendeeId)).thenReturn(Optional.of(new Attendee(attendeeId, "Karim", "k@example.com")));
+        when(bitmapIndex.isReady()).thenReturn(true);
+        when(bitmapIndex.contains(eventId, attendeeId)).thenReturn(true);
+
+        assertThrows(DuplicateRegistrationException.class, () -> service.register(new RegistrationCommand(eventId, attendeeId)));
+
+        verify(repository, never()).existsByEventIdAndAttendeeId(any(), any());
+        verify(eventCatalog, never()).reserveSeat(any());
+    }
+
+    @Test
+    void registerShouldTranslateUniqueConstraintViolationToDuplicate() {
+        Long eventId = 1L;
+        Long attendeeId = 2L;
+
+        when(eventCatalog.findById(eventId)).thenReturn(Optional.of(new Event(eventId, "E", LocalDateTime.now().plusDays(1), 10, 0)));
+        when(attendeeDirectory.findById(attendeeId)).thenReturn(Optional.of(new Attendee(attendeeId, "Karim", "k@example.com")));
+        when(bitmapIndex.isReady()).thenReturn(true);
+        when(mapper.toEntity(any(Registration.class))).thenAnswer(inv -> {
+            Registration r = inv.getArgument(0);
+            return new RegistrationJpaEntity(r.id(), r.eventId(), r.attendeeId(), r.registeredAt());
+        });
+        when(repository.saveAndFlush(any(RegistrationJpaEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_registrations_event_attendee"));
+
+        assertThrows(DuplicateRegistrationException.class, () -> service.register(new RegistrationCommand(eventId, attendeeId)));
+
+        verify(bitmapIndex, never()).addAfterCommit(any(), any());
         verify(notificationGateway, never()).sendRegistrationConfirmation(any());
     }
 
+    @Test
+    void countByEventShouldFallBackToSqlUntilIndexIsBuilt() {
+        when(repository.countByEventId(1L)).thenReturn(42L);
+
+        assertEquals(42L, service.countByEvent(1L));
+    }
+
+    @Test
+    void registerAllShouldWriteOneBatchPerEventAndKeepRequestOrder() {
+        Instant registeredAt = Instant.now();
+        Registration first = new Registration(1L, 2L, 20L, registeredAt);
+        Registration second = new Registration(2L, 1L, 10L, registeredAt);
+        List<RegistrationCommand> commands = List.of(
+                new RegistrationCommand(2L, 20L),
+                new RegistrationCommand(1L, 10L),
+                new RegistrationCommand(2L, 21L)
+        );
+
+        when(batchWriter.write(1L, List.of(10L))).thenReturn(List.of(RegistrationAttempt.succeeded(second)));
+        when(batchWriter.write(2L, List.of(20L, 21L))).thenReturn(List.of(
+                RegistrationAttempt.succeeded(first),
+                RegistrationAttempt.failed(21L, new IllegalStateException("No seat available for event: 2"))
+        ));
+
+        List<RegistrationResult> results = service.registerAll(commands);
+
+        assertEquals(RegistrationResult.registered(first), results.get(0));
+        assertEquals(RegistrationResult.registered(second), results.get(1));
+        assertEquals(RegistrationStatus.NO_SEAT_AVAILABLE, results.get(2).status());
+        assertEquals(21L, results.get(2).attendeeId());
+        verify(notificationGateway).sendRegistrationConfirmation(RegistrationApplicationService.confirmation(first));
+        verify(notificationGateway).sendRegistrationConfirmation(RegistrationApplicationService.confirmation(second));
+        verify(repository, never()).existsByEventIdAndAttendeeId(any(), any());
+    }
+
+    @Test
+    void registerAllShouldRetryGroupPerAttendeeWhenBatchHitsUniqueKey() {
+        Registration registered = new Registration(1L, 1L, 10L, Instant.now());
+        when(batchWriter.write(1L, List.of(10L, 11L))).thenThrow(new DataIntegrityViolationException("uk_registrations_event_attendee"));
+        when(batchWriter.write(1L, List.of(10L))).thenReturn(List.of(RegistrationAttempt.succeeded(registered)));
+        when(batchWriter.write(1L, List.of(11L))).thenThrow(new DataIntegrityViolationException("uk_registrations_event_attendee"));
+
+        List<RegistrationResult> results = service.registerAll(List.of(
+                new RegistrationCommand(1L, 10L),
+                new RegistrationCommand(1L, 11L)
+        ));
+
+        assertEquals(RegistrationResult.registered(registered), results.get(0));
+        assertEquals(RegistrationStatus.DUPLICATE_REGISTRATION, results.get(1).status());
+        verify(notificationGateway).sendRegistrationConfirmation(RegistrationApplicationService.confirmation(registered));
+    }
+
+    @Test
+    void registerAllShouldSendConfirmationsOnlyAfterCommit() {
+        Registration registered = new Registration(1L, 1L, 10L, Instant.now());
+        when(batchWriter.write(1L, List.of(10L))).thenReturn(List.of(RegistrationAttempt.succeeded(registered)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.registerAll(List.of(new RegistrationCommand(1L, 10L)));
+
+            verify(notificationGateway, never()).sendRegistrationConfirmation(any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(notificationGateway).sendRegistrationConfirmation(RegistrationApplicationService.confirmation(registered));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void registerAllShouldNotReportUnexpectedFailureAsNoSeat() {
+        when(batchWriter.write(1L, List.of(10L))).thenReturn(List.of(
+                RegistrationAttempt.failed(10L, new IllegalArgumentException("unexpected"))
+        ));
+
+        assertThrows(IllegalArgumentException.class, () -> service.registerAll(List.of(new RegistrationCommand(1L, 10L))));
+    }
+
+    @Test
+    void exportAllShouldDetachEachStreamedRowBeforeHandingItOver() {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        RegistrationJpaEntity e1 = new RegistrationJpaEntity(1L, 10L, 100L, from);
+        RegistrationJpaEntity e2 = new RegistrationJpaEntity(2L, 10L, 200L, from.plusSeconds(1));
+        Registration m1 = new Registration(e1.getId(), e1.getEventId(), e1.getAttendeeId(), e1.getRegisteredAt());
+        Registration m2 = new Registration(e2.getId(), e2.getEventId(), e2.getAttendeeId(), e2.getRegisteredAt());
+
+        when(repository.streamAll(10L, from, null)).thenReturn(Stream.of(e1, e2));
+        when(mapper.toModel(e1)).thenReturn(m1);
+        when(mapper.toModel(e2)).thenReturn(m2);
+
+        List<Registration> exported = new ArrayList<>();
+        service.exportAll(new RegistrationExportQuery(10L, from, null), exported::add);
+
+        assertEquals(List.of(m1, m2), exported);
+        verify(entityManager).detach(e1);
+        verify(entityManager).detach(e2);
+    }
+
     @Test
     void findAllShouldMapEntities() {
         RegistrationJpaEntity e1 = new RegistrationJpaEntity(1L, 10L, 100L, Instant.now());
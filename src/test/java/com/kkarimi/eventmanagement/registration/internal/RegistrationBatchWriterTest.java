@@ -0,0 +1,136 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import com.kkarimi.eventmanagement.attendees.Attendee;
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.events.Event;
+import com.kkarimi.eventmanagement.events.EventCatalog;
+import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
+import com.kkarimi.eventmanagement.registration.Registration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationBatchWriterTest {
+
+    @Mock
+    private EventCatalog eventCatalog;
+
+    @Mock
+    private AttendeeDirectory attendeeDirectory;
+
+    @Mock
+    private RegistrationJpaRepository repository;
+
+    @Mock
+    private RegistrationMapper mapper;
+
+    @Mock
+    private RegistrationBitmapIndex bitmapIndex;
+
+    @InjectMocks
+    private RegistrationBatchWriter writer;
+
+    @Test
+    void writeShouldReserveSeatsOnceAndReportEachAttendeeInOrder() {
+        Long eventId = 1L;
+        List<Long> attendeeIds = List.of(10L, 11L, 12L, 13L, 10L, 14L);
+
+        when(eventCatalog.findById(eventId)).thenReturn(Optional.of(new Event(eventId, "E", LocalDateTime.now().plusDays(1), 10, 8)));
+        when(attendeeDirectory.findAllById(Set.copyOf(attendeeIds))).thenReturn(List.of(
+                new Attendee(10L, "Attendee 10", "10@example.com"),
+                new Attendee(11L, "Attendee 11", "11@example.com"),
+                new Attendee(13L, "Attendee 13", "13@example.com"),
+                new Attendee(14L, "Attendee 14", "14@example.com")
+        ));
+        when(bitmapIndex.isReady()).thenReturn(false);
+        when(repository.findRegisteredAttendeeIds(eventId, attendeeIds)).thenReturn(Set.of(13L));
+        when(eventCatalog.reserveSeats(eventId, 3)).thenReturn(2);
+        when(mapper.toEntity(any(Registration.class))).thenAnswer(inv -> {
+            Registration r = inv.getArgument(0);
+            return new RegistrationJpaEntity(r.id(), r.eventId(), r.attendeeId(), r.registeredAt());
+        });
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toModel(any(RegistrationJpaEntity.class))).thenAnswer(inv -> {
+            RegistrationJpaEntity entity = inv.getArgument(0);
+            return new Registration(entity.getId(), entity.getEventId(), entity.getAttendeeId(), entity.getRegisteredAt());
+        });
+
+        List<RegistrationAttempt> attempts = writer.write(eventId, attendeeIds);
+
+        assertEquals(6, attempts.size());
+        assertTrue(attempts.get(0).isSuccessful());
+        assertEquals(10L, attempts.get(0).registration().attendeeId());
+        assertTrue(attempts.get(1).isSuccessful());
+        assertInstanceOf(NoSuchElementException.class, attempts.get(2).failure());
+        assertInstanceOf(DuplicateRegistrationException.class, attempts.get(3).failure());
+        assertInstanceOf(DuplicateRegistrationException.class, attempts.get(4).failure());
+        assertInstanceOf(IllegalStateException.class, attempts.get(5).failure());
+        verify(eventCatalog).reserveSeats(eventId, 3);
+    }
+
+    @Test
+    void writeShouldSkipClaimedAttendeesFromBitmapIndexWhenReady() {
+        Long eventId = 1L;
+        List<Long> attendeeIds = List.of(10L, 11L, 12L);
+
+        when(eventCatalog.findById(eventId)).thenReturn(Optional.of(new Event(eventId, "E", LocalDateTime.now().plusDays(1), 10, 8)));
+        when(attendeeDirectory.findAllById(Set.copyOf(attendeeIds))).thenReturn(List.of(
+                new Attendee(10L, "Attendee 10", "10@example.com"),
+                new Attendee(11L, "Attendee 11", "11@example.com"),
+                new Attendee(12L, "Attendee 12", "12@example.com")
+        ));
+        when(bitmapIndex.isReady()).thenReturn(true);
+        when(bitmapIndex.contains(eq(eventId), anyLong())).thenAnswer(inv -> inv.getArgument(1).equals(11L));
+        when(eventCatalog.reserveSeats(eventId, 2)).thenReturn(2);
+        when(mapper.toEntity(any(Registration.class))).thenAnswer(inv -> {
+            Registration r = inv.getArgument(0);
+            return new RegistrationJpaEntity(r.id(), r.eventId(), r.attendeeId(), r.registeredAt());
+        });
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toModel(any(RegistrationJpaEntity.class))).thenAnswer(inv -> {
+            RegistrationJpaEntity entity = inv.getArgument(0);
+            return new Registration(entity.getId(), entity.getEventId(), entity.getAttendeeId(), entity.getRegisteredAt());
+        });
+
+        List<RegistrationAttempt> attempts = writer.write(eventId, attendeeIds);
+
+        assertTrue(attempts.get(0).isSuccessful());
+        assertInstanceOf(DuplicateRegistrationException.class, attempts.get(1).failure());
+        assertTrue(attempts.get(2).isSuccessful());
+        verify(repository, never()).findRegisteredAttendeeIds(any(), anyList());
+        verify(bitmapIndex).addAfterCommit(eventId, List.of(10L, 12L));
+    }
+
+    @Test
+    void writeShouldFailWholeBatchWhenEventDoesNotExist() {
+        when(eventCatalog.findById(1L)).thenReturn(Optional.empty());
+
+        List<RegistrationAttempt> attempts = writer.write(1L, List.of(10L, 11L));
+
+        assertEquals(2, attempts.size());
+        attempts.forEach(attempt -> assertInstanceOf(NoSuchElementException.class, attempt.failure()));
+        verify(eventCatalog, never()).reserveSeats(any(), anyInt());
+        verify(repository, never()).saveAllAndFlush(anyList());
+    }
+}
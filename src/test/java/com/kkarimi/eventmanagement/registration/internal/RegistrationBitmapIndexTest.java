@@ -0,0 +1,82 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationBitmapIndexTest {
+
+    @Mock
+    private RegistrationJpaRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RegistrationBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RegistrationBitmapIndex(repository, transactionManager, meterRegistry, true, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void buildShouldLoadRegistrationsPerEvent() {
+        when(repository.streamEventAttendeePairs(isNull())).thenReturn(Stream.of(
+                new Object[] {1L, 10L},
+                new Object[] {1L, 11L},
+                new Object[] {2L, 10L}
+        ));
+
+        assertFalse(index.isReady());
+        index.build();
+
+        assertTrue(index.isReady());
+        assertTrue(index.contains(1L, 11L));
+        assertFalse(index.contains(2L, 11L));
+        assertFalse(index.contains(3L, 10L));
+        assertEquals(2, index.count(1L));
+        assertEquals(0, index.count(3L));
+        assertEquals(2.0, meterRegistry.get("registration.index.events").gauge().value());
+        assertEquals(3.0, meterRegistry.get("registration.index.entries").gauge().value());
+        assertTrue(meterRegistry.get("registration.index.size").gauge().value() > 0);
+    }
+
+    @Test
+    void addAfterCommitShouldApplyImmediatelyOutsideTransaction() {
+        when(repository.streamEventAttendeePairs(isNull())).thenReturn(Stream.empty());
+        index.build();
+
+        index.addAfterCommit(5L, List.of(50L, 51L));
+
+        assertTrue(index.contains(5L, 51L));
+        assertEquals(2, index.count(5L));
+    }
+
+    @Test
+    void disabledIndexShouldNeverBecomeReady() {
+        RegistrationBitmapIndex disabled = new RegistrationBitmapIndex(
+                repository, transactionManager, new SimpleMeterRegistry(), false, Duration.ofMinutes(5)
+        );
+
+        disabled.build();
+
+        assertFalse(disabled.isReady());
+    }
+}
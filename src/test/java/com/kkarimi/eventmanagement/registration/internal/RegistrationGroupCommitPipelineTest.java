@@ -0,0 +1,184 @@
+package com.kkarimi.eventmanagement.registration.internal;
+
+import com.kkarimi.eventmanagement.notifications.NotificationGateway;
+import com.kkarimi.eventmanagement.notifications.RegistrationConfirmation;
+import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
+import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.registration.RegistrationCommand;
+import com.kkarimi.eventmanagement.registration.RegistrationUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationGroupCommitPipelineTest {
+
+    @Mock
+    private RegistrationBatchWriter batchWriter;
+
+    @Mock
+    private NotificationGateway notificationGateway;
+
+    private RegistrationGroupCommitPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new RegistrationGroupCommitPipeline(batchWriter, notificationGateway, 10, 1, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pipeline.destroy();
+    }
+
+    @Test
+    void submitShouldCompleteEachCallerWithItsOwnOutcome() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(eq(1L), anyList())).thenAnswer(inv -> {
+            List<Long> attendeeIds = inv.getArgument(1);
+            if (attendeeIds.equals(List.of(10L))) {
+                writing.countDown();
+                release.await(2, TimeUnit.SECONDS);
+            }
+            return attendeeIds.stream()
+                    .map(attendeeId -> attendeeId == 12L
+                            ? RegistrationAttempt.failed(attendeeId, new NoSuchElementException("Attendee not found: 12"))
+                            : RegistrationAttempt.succeeded(registration(1L, attendeeId)))
+                    .toList();
+        });
+
+        CompletableFuture<Registration> first = pipeline.submit(new RegistrationCommand(1L, 10L));
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Registration> second = pipeline.submit(new RegistrationCommand(1L, 11L));
+        CompletableFuture<Registration> third = pipeline.submit(new RegistrationCommand(1L, 12L));
+        release.countDown();
+
+        assertEquals(10L, first.get(2, TimeUnit.SECONDS).attendeeId());
+        assertEquals(11L, second.get(2, TimeUnit.SECONDS).attendeeId());
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> third.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(NoSuchElementException.class, failure.getCause());
+        verify(batchWriter).write(1L, List.of(11L, 12L));
+        verify(notificationGateway, timeout(2000).times(2)).sendRegistrationConfirmation(any(RegistrationConfirmation.class));
+    }
+
+    @Test
+    void submitShouldRetryOneByOneWhenBatchTransactionFails() throws Exception {
+        when(batchWriter.write(1L, List.of(10L))).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        CompletableFuture<Registration> future = pipeline.submit(new RegistrationCommand(1L, 10L));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(DuplicateRegistrationException.class, failure.getCause());
+        verify(notificationGateway, never()).sendRegistrationConfirmation(any());
+    }
+
+    @Test
+    void submitShouldSkipCallersThatAlreadyTimedOut() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(eq(1L), anyList())).thenAnswer(inv -> {
+            List<Long> attendeeIds = inv.getArgument(1);
+            if (attendeeIds.equals(List.of(10L))) {
+                writing.countDown();
+                release.await(2, TimeUnit.SECONDS);
+            }
+            return attendeeIds.stream().map(attendeeId -> RegistrationAttempt.succeeded(registration(1L, attendeeId))).toList();
+        });
+
+        CompletableFuture<Registration> first = pipeline.submit(new RegistrationCommand(1L, 10L));
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Registration> timedOut = pipeline.submit(new RegistrationCommand(1L, 11L));
+        CompletableFuture<Registration> waiting = pipeline.submit(new RegistrationCommand(1L, 12L));
+        timedOut.completeExceptionally(new TimeoutException());
+        release.countDown();
+
+        assertEquals(10L, first.get(2, TimeUnit.SECONDS).attendeeId());
+        assertEquals(12L, waiting.get(2, TimeUnit.SECONDS).attendeeId());
+        verify(batchWriter).write(1L, List.of(12L));
+        verify(batchWriter, never()).write(1L, List.of(11L, 12L));
+        verify(notificationGateway, timeout(2000).times(2)).sendRegistrationConfirmation(any(RegistrationConfirmation.class));
+    }
+
+    @Test
+    void submitShouldRejectWhenLaneIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(batchWriter.write(eq(1L), anyList())).thenAnswer(inv -> {
+            List<Long> attendeeIds = inv.getArgument(1);
+            if (attendeeIds.equals(List.of(10L))) {
+                writing.countDown();
+                release.await(2, TimeUnit.SECONDS);
+            }
+            return attendeeIds.stream().map(attendeeId -> RegistrationAttempt.succeeded(registration(1L, attendeeId))).toList();
+        });
+
+        CompletableFuture<Registration> inFlight = pipeline.submit(new RegistrationCommand(1L, 10L));
+        assertTrue(writing.await(2, TimeUnit.SECONDS));
+        CompletableFuture<Registration> second = pipeline.submit(new RegistrationCommand(1L, 11L));
+        CompletableFuture<Registration> third = pipeline.submit(new RegistrationCommand(1L, 12L));
+        CompletableFuture<Registration> rejected = pipeline.submit(new RegistrationCommand(1L, 13L));
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> rejected.get(0, TimeUnit.SECONDS));
+        assertInstanceOf(RegistrationUnavailableException.class, failure.getCause());
+        release.countDown();
+        assertEquals(10L, inFlight.get(2, TimeUnit.SECONDS).attendeeId());
+        assertEquals(11L, second.get(2, TimeUnit.SECONDS).attendeeId());
+        assertEquals(12L, third.get(2, TimeUnit.SECONDS).attendeeId());
+    }
+
+    @Test
+    void drainedLaneShouldBeRemoved() throws Exception {
+        when(batchWriter.write(1L, List.of(10L))).thenReturn(List.of(RegistrationAttempt.succeeded(registration(1L, 10L))));
+
+        pipeline.submit(new RegistrationCommand(1L, 10L)).get(2, TimeUnit.SECONDS);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (pipeline.laneCount() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, pipeline.laneCount());
+    }
+
+    @Test
+    void submitAfterShutdownShouldFailInsteadOfHanging() throws InterruptedException {
+        pipeline.destroy();
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            CompletableFuture<Registration> future = pipeline.submit(new RegistrationCommand(1L, 10L));
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+            assertInstanceOf(RegistrationUnavailableException.class, failure.getCause());
+        }
+        assertEquals(0, pipeline.laneCount());
+        verify(batchWriter, never()).write(any(), anyList());
+    }
+
+    private static Registration registration(Long eventId, Long attendeeId) {
+        return new Registration(attendeeId * 100, eventId, attendeeId, Instant.parse("2026-03-01T10:00:00Z"));
+    }
+}
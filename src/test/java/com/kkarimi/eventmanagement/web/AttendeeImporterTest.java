@@ -0,0 +1,115 @@
+package com.kkarimi.eventmanagement.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kkarimi.eventmanagement.attendees.AttendeeDirectory;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportRejection;
+import com.kkarimi.eventmanagement.attendees.AttendeeImportResult;
+import com.kkarimi.eventmanagement.attendees.NewAttendeeCommand;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AttendeeImporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private AttendeeDirectory attendeeDirectory;
+
+    private AttendeeImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = new AttendeeImporter(
+                attendeeDirectory,
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2
+        );
+    }
+
+    @Test
+    void csvImportShouldSendChunksAndReportRejectedLines() throws IOException {
+        String csv = """
+                email,fullName
+                a@example.com,"Karimi, Kamal"
+                not-an-email,B
+                b@example.com,B
+                c@example.com,C
+                """;
+        when(attendeeDirectory.importChunk(List.of(
+                new NewAttendeeCommand("Karimi, Kamal", "a@example.com"),
+                new NewAttendeeCommand("B", "b@example.com")
+        ))).thenReturn(new AttendeeImportResult(1, List.of(new AttendeeImportRejection(1, "duplicate"))));
+        when(attendeeDirectory.importChunk(List.of(new NewAttendeeCommand("C", "c@example.com"))))
+                .thenReturn(new AttendeeImportResult(1, List.of()));
+
+        List<JsonNode> lines = run(AttendeeImporter.Format.CSV, csv);
+
+        assertEquals("reject", lines.get(0).get("type").asText());
+        assertEquals(3, lines.get(0).get("line").asLong());
+        assertEquals("reject", lines.get(1).get("type").asText());
+        assertEquals(4, lines.get(1).get("line").asLong());
+        assertEquals("progress", lines.get(2).get("type").asText());
+        JsonNode summary = lines.getLast();
+        assertEquals("summary", summary.get("type").asText());
+        assertEquals(4, summary.get("rows").asLong());
+        assertEquals(2, summary.get("imported").asLong());
+        assertEquals(2, summary.get("rejected").asLong());
+    }
+
+    @Test
+    void ndjsonImportShouldRejectMalformedLinesAndContinue() throws IOException {
+        String ndjson = """
+                {"fullName":"A","email":"a@example.com"}
+                {"fullName":
+                null
+                """;
+        when(attendeeDirectory.importChunk(List.of(new NewAttendeeCommand("A", "a@example.com"))))
+                .thenReturn(new AttendeeImportResult(1, List.of()));
+
+        List<JsonNode> lines = run(AttendeeImporter.Format.NDJSON, ndjson);
+
+        assertEquals(2, lines.get(0).get("line").asLong());
+        assertEquals(3, lines.get(1).get("line").asLong());
+        assertEquals(1, lines.getLast().get("imported").asLong());
+        assertEquals(2, lines.getLast().get("rejected").asLong());
+    }
+
+    @Test
+    void csvImportShouldStopWhenHeaderHasNoEmailColumn() throws IOException {
+        List<JsonNode> lines = run(AttendeeImporter.Format.CSV, "name,mail\nA,a@example.com\n");
+
+        assertEquals("reject", lines.get(0).get("type").asText());
+        assertEquals(1, lines.get(0).get("line").asLong());
+        verify(attendeeDirectory, never()).importChunk(anyList());
+    }
+
+    private List<JsonNode> run(AttendeeImporter.Format format, String body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importer.importAttendees(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), output);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
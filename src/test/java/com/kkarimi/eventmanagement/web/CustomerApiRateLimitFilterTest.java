@@ -7,6 +7,14 @@ import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -30,6 +38,51 @@ class CustomerApiRateLimitFilterTest {
         assertEquals("{\"error\":\"rate_limit_exceeded\"}", response2.getContentAsString());
     }
 
+    @Test
+    void shouldAdmitExactlyTheLimitUnderConcurrentRequests() {
+        CustomerApiRateLimitFilter filter = new CustomerApiRateLimitFilter(100);
+        AtomicInteger admitted = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < 1000; index++) {
+                executor.submit(() -> {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/registrations");
+                    request.setRemoteAddr("10.0.0.2");
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(request, response, new MockFilterChain());
+                    if (response.getStatus() == 200) {
+                        admitted.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        assertEquals(100, admitted.get());
+    }
+
+    @Test
+    void shouldCountEveryRequestAcrossConcurrentWindowRollover() throws Exception {
+        CustomerApiRateLimitFilter.WindowCounter counter = new CustomerApiRateLimitFilter.WindowCounter(0);
+        for (int index = 0; index < 50; index++) {
+            counter.increment(0);
+        }
+        List<Future<Integer>> counts = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < 1000; index++) {
+                counts.add(executor.submit(() -> counter.increment(60_000)));
+            }
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        for (Future<Integer> count : counts) {
+            seen.add(count.get());
+        }
+        assertEquals(1000, seen.size());
+        assertEquals(1001, counter.increment(60_000));
+    }
+
     @Test
     void shouldBypassRateLimitForNonCustomerApi() throws ServletException, IOException {
         CustomerApiRateLimitFilter filter = new CustomerApiRateLimitFilter(1);
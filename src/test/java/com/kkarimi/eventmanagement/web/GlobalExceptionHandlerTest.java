@@ -1,5 +1,6 @@
 package com.kkarimi.eventmanagement.web;
 
+import com.kkarimi.eventmanagement.attendees.AttendeeSearchUnavailableException;
 import com.kkarimi.eventmanagement.registration.DuplicateRegistrationException;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -20,4 +21,12 @@ class GlobalExceptionHandlerTest {
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
         assertEquals("DUPLICATE_REGISTRATION", response.getBody().error());
     }
+
+    @Test
+    void shouldMapUnavailableSearchIndexToServiceUnavailable() {
+        ResponseEntity<ApiErrorResponse> response = handler.handleSearchUnavailable(new AttendeeSearchUnavailableException());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("SERVICE_UNAVAILABLE", response.getBody().error());
+    }
 }
@@ -0,0 +1,50 @@
+package com.kkarimi.eventmanagement.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetCursorTest {
+
+    private static final Map<String, Function<String, ?>> KEYS = Map.of(
+            "startsAt", LocalDateTime::parse,
+            "id", Long::valueOf
+    );
+
+    @Test
+    void shouldRoundTripKeysetPosition() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("startsAt", LocalDateTime.of(2026, 3, 1, 10, 0));
+        keys.put("id", 42L);
+
+        String token = KeysetCursor.encode(ScrollPosition.forward(keys));
+        ScrollPosition decoded = KeysetCursor.decode(token, KEYS);
+
+        assertEquals(keys, ((KeysetScrollPosition) decoded).getKeys());
+    }
+
+    @Test
+    void missingTokenShouldStartFromTheBeginning() {
+        assertTrue(KeysetCursor.decode(null, KEYS).isInitial());
+    }
+
+    @Test
+    void tamperedTokenShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm90LWEtY3Vyc29y", KEYS));
+    }
+
+    @Test
+    void sizeOutsideBoundsShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.requireSize(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.requireSize(KeysetCursor.MAX_SIZE + 1));
+    }
+}
@@ -0,0 +1,72 @@
+package com.kkarimi.eventmanagement.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kkarimi.eventmanagement.registration.Registration;
+import com.kkarimi.eventmanagement.registration.RegistrationApplication;
+import com.kkarimi.eventmanagement.registration.RegistrationExportQuery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class RegistrationExporterTest {
+
+    private static final Instant REGISTERED_AT = Instant.parse("2026-03-01T10:15:30Z");
+
+    @Mock
+    private RegistrationApplication registrationApplication;
+
+    @Test
+    void csvExportShouldWriteHeaderAndOneLinePerRegistration() throws IOException {
+        RegistrationExportQuery query = new RegistrationExportQuery(7L, null, null);
+        doAnswer(inv -> {
+            Consumer<Registration> sink = inv.getArgument(1);
+            sink.accept(new Registration(1L, 7L, 100L, REGISTERED_AT));
+            sink.accept(new Registration(2L, 7L, 101L, REGISTERED_AT));
+            return null;
+        }).when(registrationApplication).exportAll(eq(query), any());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exporter().export(RegistrationExporter.Format.CSV, query).writeTo(output);
+
+        assertEquals("""
+                id,eventId,attendeeId,registeredAt
+                1,7,100,2026-03-01T10:15:30Z
+                2,7,101,2026-03-01T10:15:30Z
+                """, output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void formatShouldParseCaseInsensitivelyAndListAllowedValues() {
+        assertEquals(RegistrationExporter.Format.CSV, RegistrationExporter.Format.parse("csv"));
+        assertEquals(RegistrationExporter.Format.NDJSON, RegistrationExporter.Format.parse("NDJSON"));
+        IllegalArgumentException failure = assertThrows(
+                IllegalArgumentException.class,
+                () -> RegistrationExporter.Format.parse("xml")
+        );
+        assertEquals("Unsupported export format: xml. Allowed values: csv, ndjson", failure.getMessage());
+    }
+
+    @Test
+    void exportQueryShouldRejectEmptyTimeRange() {
+        assertThrows(IllegalArgumentException.class, () -> new RegistrationExportQuery(null, REGISTERED_AT, REGISTERED_AT));
+    }
+
+    private RegistrationExporter exporter() {
+        return new RegistrationExporter(registrationApplication, new ObjectMapper().registerModule(new JavaTimeModule()), 1);
+    }
+}